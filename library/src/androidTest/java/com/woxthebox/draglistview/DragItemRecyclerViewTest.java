@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import android.content.Context;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.LinearLayoutManager;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class DragItemRecyclerViewTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int ITEM_COUNT = 100;
+    private static final int MOVES = 500;
+
+    @Test
+    public void onDraggingDoesNotAllocate() {
+        final int[] allocations = new int[1];
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                allocations[0] = countDragAllocations(InstrumentationRegistry.getTargetContext());
+            }
+        });
+        assertEquals(0, allocations[0]);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int countDragAllocations(Context context) {
+        FrameLayout root = new FrameLayout(context);
+        DragListView dragListView = new DragListView(context);
+        dragListView.onFinishInflate();
+        dragListView.setLayoutManager(new LinearLayoutManager(context));
+        dragListView.setAdapter(new TestAdapter(), true);
+        root.addView(dragListView, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        root.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        root.layout(0, 0, WIDTH, HEIGHT);
+
+        DragItemRecyclerView recyclerView = (DragItemRecyclerView) dragListView.getRecyclerView();
+        View itemView = recyclerView.getChildAt(2);
+        long itemId = recyclerView.getChildItemId(itemView);
+        float x = WIDTH / 2f;
+        float y = itemView.getTop() + itemView.getHeight() / 2f;
+        assertTrue(recyclerView.startDrag(itemView, itemId, x, y));
+
+        // Warm up so lazily created state, like the scheduled frame update, exists before counting
+        for (int i = 0; i < 10; i++) {
+            recyclerView.onDragging(x, y + i);
+        }
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < MOVES; i++) {
+            recyclerView.onDragging(x, y + i % (HEIGHT / 2));
+        }
+        Debug.stopAllocCounting();
+        int allocations = Debug.getThreadAllocCount();
+
+        recyclerView.onDragEnded();
+        return allocations;
+    }
+
+    private static class TestAdapter extends DragItemAdapter<Long, DragItemAdapter.ViewHolder> {
+        TestAdapter() {
+            setHasStableIds(true);
+            ArrayList<Long> items = new ArrayList<>();
+            for (long i = 0; i < ITEM_COUNT; i++) {
+                items.add(i);
+            }
+            setItemList(items);
+        }
+
+        @Override
+        public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            TextView view = new TextView(parent.getContext());
+            view.setId(android.R.id.text1);
+            view.setLayoutParams(new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 100));
+            return new ViewHolder(view, android.R.id.text1, false) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(ViewHolder holder, int position) {
+            super.onBindViewHolder(holder, position);
+            ((TextView) holder.itemView).setText(String.valueOf(mItemList.get(position)));
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return mItemList.get(position);
+        }
+    }
+}
@@ -16,8 +16,11 @@
 
 package com.woxthebox.draglistview;
 
+import android.annotation.TargetApi;
 import android.content.Context;
+import android.os.Build;
 import android.os.Handler;
+import android.view.Choreographer;
 
 class AutoScroller {
     enum AutoScrollMode {
@@ -37,32 +40,91 @@ class AutoScroller {
     private static final int SCROLL_SPEED_DP = 8;
     private static final int AUTO_SCROLL_UPDATE_DELAY = 12;
     private static final int COLUMN_SCROLL_UPDATE_DELAY = 1000;
+    private static final long NANOS_PER_MS = 1000000L;
+    // Cap the time a single frame can account for so a stalled frame does not make the list jump
+    private static final long MAX_FRAME_DELTA_NANOS = 4 * AUTO_SCROLL_UPDATE_DELAY * NANOS_PER_MS;
 
     private Handler mHandler = new Handler();
+    private final Runnable mScrollRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsUpdateScheduled = false;
+            onScrollUpdate(System.nanoTime());
+        }
+    };
+    // Choreographer.FrameCallback, only available from Jelly Bean
+    private Object mFrameCallback;
     private AutoScrollListener mListener;
     private boolean mIsAutoScrolling;
+    private boolean mIsUpdateScheduled;
+    private boolean mIsColumnScroll;
     private int mScrollSpeed;
+    private int mScrollDx;
+    private int mScrollDy;
+    private int mScrollColumns;
+    private float mEdgeDepth = 1;
+    private float mMaxEdgeSpeedFactor = 1;
+    private float mMaxHoldSpeedFactor = 1;
+    private int mHoldRampDuration;
+    private long mScrollStartTimeNanos;
+    private float mRemainderDx;
+    private float mRemainderDy;
+    private long mLastUpdateTimeNanos;
     private long mLastScrollTime;
     private AutoScrollMode mAutoScrollMode = AutoScrollMode.POSITION;
 
     AutoScroller(Context context, AutoScrollListener listener) {
         mListener = listener;
         mScrollSpeed = (int) (context.getResources().getDisplayMetrics().density * SCROLL_SPEED_DP);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            mFrameCallback = new FrameCallback();
+        }
     }
 
     void setAutoScrollMode(AutoScrollMode autoScrollMode) {
         mAutoScrollMode = autoScrollMode;
     }
 
+    /**
+     * @param maxEdgeSpeedFactor The speed factor when the drag item is at the outer border of the auto scroll edge. The
+     *                           speed grows linearly from the normal speed at the inner border. 1 gives a fixed speed.
+     * @param maxHoldSpeedFactor The speed factor reached when auto scrolling has been going on in the same direction for
+     *                           holdRampDuration. 1 disables the acceleration.
+     * @param holdRampDuration   The time in ms it takes to accelerate to maxHoldSpeedFactor.
+     */
+    void setSpeedProfile(float maxEdgeSpeedFactor, float maxHoldSpeedFactor, int holdRampDuration) {
+        mMaxEdgeSpeedFactor = Math.max(1, maxEdgeSpeedFactor);
+        mMaxHoldSpeedFactor = Math.max(1, maxHoldSpeedFactor);
+        mHoldRampDuration = Math.max(0, holdRampDuration);
+    }
+
     boolean isAutoScrolling() {
         return mIsAutoScrolling;
     }
 
     void stopAutoScroll() {
         mIsAutoScrolling = false;
+        if (mIsUpdateScheduled) {
+            mIsUpdateScheduled = false;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                removeFrameCallback();
+            } else {
+                mHandler.removeCallbacks(mScrollRunnable);
+            }
+        }
     }
 
     void startAutoScroll(ScrollDirection direction) {
+        startAutoScroll(direction, 1);
+    }
+
+    /**
+     * @param direction The direction to scroll in.
+     * @param edgeDepth How far into the auto scroll edge the drag item is, from 0 at the inner border to 1 at the outer
+     *                  border. Can be updated while auto scrolling.
+     */
+    void startAutoScroll(ScrollDirection direction, float edgeDepth) {
+        mEdgeDepth = Math.max(0, Math.min(edgeDepth, 1));
         switch (direction) {
             case UP:
                 startAutoScrollPositionBy(0, mScrollSpeed);
@@ -90,44 +152,111 @@ class AutoScroller {
     private void startAutoScrollPositionBy(int dx, int dy) {
         if (!mIsAutoScrolling) {
             mIsAutoScrolling = true;
-            autoScrollPositionBy(dx, dy);
-        }
-    }
-
-    private void autoScrollPositionBy(final int dx, final int dy) {
-        if (mIsAutoScrolling) {
-            mListener.onAutoScrollPositionBy(dx, dy);
-            mHandler.postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    autoScrollPositionBy(dx, dy);
-                }
-            }, AUTO_SCROLL_UPDATE_DELAY);
+            mIsColumnScroll = false;
+            mScrollDx = dx;
+            mScrollDy = dy;
+            mRemainderDx = 0;
+            mRemainderDy = 0;
+            mLastUpdateTimeNanos = 0;
+            mScrollStartTimeNanos = System.nanoTime();
+            onScrollUpdate(mScrollStartTimeNanos);
+        } else if (!mIsColumnScroll && (mScrollDx != dx || mScrollDy != dy)) {
+            // Direction changed without stopping, start accelerating from the beginning again
+            mScrollDx = dx;
+            mScrollDy = dy;
+            mScrollStartTimeNanos = System.nanoTime();
         }
     }
 
     private void startAutoScrollColumnBy(int columns) {
         if (!mIsAutoScrolling) {
             mIsAutoScrolling = true;
-            autoScrollColumnBy(columns);
+            mIsColumnScroll = true;
+            mScrollColumns = columns;
+            onScrollUpdate(System.nanoTime());
         }
     }
 
-    private void autoScrollColumnBy(final int columns) {
+    private void onScrollUpdate(long timeNanos) {
+        if (!mIsAutoScrolling) {
+            return;
+        }
+
+        if (mIsColumnScroll) {
+            autoScrollColumnBy(mScrollColumns);
+        } else {
+            autoScrollPositionBy(timeNanos);
+        }
+
+        // The listener might have stopped or restarted the scroll, in that case an update is already handled
         if (mIsAutoScrolling) {
-            if (System.currentTimeMillis() - mLastScrollTime > COLUMN_SCROLL_UPDATE_DELAY) {
-                mListener.onAutoScrollColumnBy(columns);
-                mLastScrollTime = System.currentTimeMillis();
-            } else {
-                mListener.onAutoScrollColumnBy(0);
-            }
+            scheduleScrollUpdate();
+        }
+    }
 
-            mHandler.postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    autoScrollColumnBy(columns);
-                }
-            }, AUTO_SCROLL_UPDATE_DELAY);
+    private void autoScrollPositionBy(long timeNanos) {
+        // Scale the distance by the time since the last update so the speed is the same at any refresh rate
+        long deltaNanos = mLastUpdateTimeNanos == 0 ? AUTO_SCROLL_UPDATE_DELAY * NANOS_PER_MS : timeNanos - mLastUpdateTimeNanos;
+        deltaNanos = Math.max(0, Math.min(deltaNanos, MAX_FRAME_DELTA_NANOS));
+        mLastUpdateTimeNanos = timeNanos;
+
+        float factor = deltaNanos / (float) (AUTO_SCROLL_UPDATE_DELAY * NANOS_PER_MS) * getSpeedFactor(timeNanos);
+        mRemainderDx += mScrollDx * factor;
+        mRemainderDy += mScrollDy * factor;
+        int dx = (int) mRemainderDx;
+        int dy = (int) mRemainderDy;
+        mRemainderDx -= dx;
+        mRemainderDy -= dy;
+        mListener.onAutoScrollPositionBy(dx, dy);
+    }
+
+    private float getSpeedFactor(long timeNanos) {
+        float speedFactor = 1 + (mMaxEdgeSpeedFactor - 1) * mEdgeDepth;
+        if (mHoldRampDuration > 0 && mMaxHoldSpeedFactor > 1) {
+            float holdFraction = Math.min(1, (timeNanos - mScrollStartTimeNanos) / (float) (mHoldRampDuration * NANOS_PER_MS));
+            speedFactor *= 1 + (mMaxHoldSpeedFactor - 1) * Math.max(0, holdFraction);
+        }
+        return speedFactor;
+    }
+
+    private void autoScrollColumnBy(int columns) {
+        if (System.currentTimeMillis() - mLastScrollTime > COLUMN_SCROLL_UPDATE_DELAY) {
+            mListener.onAutoScrollColumnBy(columns);
+            mLastScrollTime = System.currentTimeMillis();
+        } else {
+            mListener.onAutoScrollColumnBy(0);
+        }
+    }
+
+    private void scheduleScrollUpdate() {
+        if (mIsUpdateScheduled) {
+            return;
+        }
+
+        mIsUpdateScheduled = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            postFrameCallback();
+        } else {
+            mHandler.postDelayed(mScrollRunnable, AUTO_SCROLL_UPDATE_DELAY);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void postFrameCallback() {
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void removeFrameCallback() {
+        Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private class FrameCallback implements Choreographer.FrameCallback {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mIsUpdateScheduled = false;
+            onScrollUpdate(frameTimeNanos);
         }
     }
 }
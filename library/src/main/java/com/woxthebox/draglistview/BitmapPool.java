@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.woxthebox.draglistview;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.ArrayList;
+
+/**
+ * A small pool of bitmaps for drag shadows so that repeated drags reuse the same pixel buffers. From KitKat a pooled
+ * bitmap is reused for any size that fits in its allocation, and new bitmaps are allocated with the size rounded up to
+ * a bucket so items of slightly different sizes share buffers. Before KitKat only bitmaps of the exact size are reused.
+ */
+class BitmapPool {
+    private static final int MAX_POOL_SIZE = 2;
+    private static final int BUCKET_SIZE = 64;
+
+    private final ArrayList<Bitmap> mBitmaps = new ArrayList<>(MAX_POOL_SIZE);
+
+    /**
+     * @return A cleared bitmap with the size and config, from the pool if possible.
+     */
+    Bitmap get(int width, int height, Bitmap.Config config) {
+        for (int i = mBitmaps.size() - 1; i >= 0; i--) {
+            Bitmap bitmap = mBitmaps.get(i);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+                if (bitmap.getAllocationByteCount() >= width * height * getBytesPerPixel(config)) {
+                    mBitmaps.remove(i);
+                    reconfigure(bitmap, width, height, config);
+                    bitmap.eraseColor(Color.TRANSPARENT);
+                    return bitmap;
+                }
+            } else if (bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config) {
+                mBitmaps.remove(i);
+                bitmap.eraseColor(Color.TRANSPARENT);
+                return bitmap;
+            }
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            Bitmap bitmap = Bitmap.createBitmap(roundUpToBucket(width), roundUpToBucket(height), config);
+            reconfigure(bitmap, width, height, config);
+            return bitmap;
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+
+        if (mBitmaps.size() >= MAX_POOL_SIZE) {
+            // Drop the oldest bitmap
+            mBitmaps.remove(0).recycle();
+        }
+        mBitmaps.add(bitmap);
+    }
+
+    void clear() {
+        for (Bitmap bitmap : mBitmaps) {
+            bitmap.recycle();
+        }
+        mBitmaps.clear();
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static void reconfigure(Bitmap bitmap, int width, int height, Bitmap.Config config) {
+        if (bitmap.getWidth() != width || bitmap.getHeight() != height || bitmap.getConfig() != config) {
+            bitmap.reconfigure(width, height, config);
+        }
+    }
+
+    private static int roundUpToBucket(int size) {
+        return (size + BUCKET_SIZE - 1) / BUCKET_SIZE * BUCKET_SIZE;
+    }
+
+    private static int getBytesPerPixel(Bitmap.Config config) {
+        return config == Bitmap.Config.RGB_565 ? 2 : 4;
+    }
+}
@@ -19,13 +19,17 @@ package com.woxthebox.draglistview;
 import android.content.Context;
 import android.content.res.Configuration;
 import android.content.res.Resources;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.NonNull;
+import android.support.v4.util.Pair;
 import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.DefaultItemAnimator;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
@@ -36,6 +40,7 @@ import android.widget.LinearLayout;
 import android.widget.Scroller;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 
 public class BoardView extends HorizontalScrollView implements AutoScroller.AutoScrollListener {
 
@@ -48,16 +53,26 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
     }
 
     private static final int SCROLL_ANIMATION_DURATION = 325;
+    private static final int DEFAULT_COLUMN_PREFETCH_COUNT = 1;
     private Scroller mScroller;
     private AutoScroller mAutoScroller;
     private GestureDetector mGestureDetector;
     private FrameLayout mRootLayout;
     private LinearLayout mColumnLayout;
     private ArrayList<DragItemRecyclerView> mLists = new ArrayList<>();
+    private IdentityHashMap<DragItemRecyclerView, Integer> mListColumns = new IdentityHashMap<>();
+    private int[] mColumnLefts = new int[0];
+    private int[] mColumnRights = new int[0];
+    private int mUniformColumnWidth;
+    private boolean mColumnEdgesValid;
+    private LongIntMap mItemColumns;
+    private int mItemColumnsVersion;
     private SparseArray<View> mHeaders = new SparseArray<>();
     private DragItemRecyclerView mCurrentRecyclerView;
     private DragItem mDragItem;
     private BoardListener mBoardListener;
+    private DragMove.Listener mDragMoveListener;
+    private DragMoveJournal mDragMoveJournal = new DragMoveJournal();
     private boolean mSnapToColumnWhenScrolling = true;
     private boolean mSnapToColumnWhenDragging = true;
     private float mTouchX;
@@ -67,6 +82,24 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
     private int mDragStartRow;
     private boolean mHasLaidOut;
     private boolean mDragEnabled = true;
+    private boolean mGapDragEnabled;
+    private int mReorderHysteresis;
+    private boolean mColumnVirtualizationEnabled;
+    private int mColumnPrefetchCount = DEFAULT_COLUMN_PREFETCH_COUNT;
+    private boolean mInLayout;
+    private boolean mAttachedColumnsUpdatePosted;
+    private Runnable mUpdateAttachedColumnsRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mAttachedColumnsUpdatePosted = false;
+            updateAttachedColumns();
+        }
+    };
+    private RecyclerView.RecycledViewPool mRecycledViewPool;
+    private SparseIntArray mMaxRecycledViews = new SparseIntArray();
+    private float mMaxEdgeSpeedFactor = 1;
+    private float mMaxHoldSpeedFactor = 1;
+    private int mHoldRampDuration;
 
     public BoardView(Context context) {
         super(context);
@@ -105,6 +138,14 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         mColumnLayout.setOrientation(LinearLayout.HORIZONTAL);
         mColumnLayout.setLayoutParams(new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT));
         mColumnLayout.setMotionEventSplittingEnabled(false);
+        mColumnLayout.addOnLayoutChangeListener(new OnLayoutChangeListener() {
+            @Override
+            public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight,
+                                       int oldBottom) {
+                // Column positions only change when the column layout changes size
+                mColumnEdgesValid = false;
+            }
+        });
 
         mRootLayout.addView(mColumnLayout);
         mRootLayout.addView(mDragItem.getDragItemView());
@@ -113,6 +154,7 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        mInLayout = true;
         super.onLayout(changed, l, t, r, b);
         // Snap to closes column after first layout.
         // This is needed so correct column is scrolled to after a rotation.
@@ -120,6 +162,78 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
             scrollToColumn(getClosestColumn(), false);
         }
         mHasLaidOut = true;
+        mInLayout = false;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        // Called from layout, attaching and detaching lists here would request another layout while this one is running
+        postUpdateAttachedColumns();
+    }
+
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        if (mInLayout) {
+            postUpdateAttachedColumns();
+        } else {
+            updateAttachedColumns();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        removeCallbacks(mUpdateAttachedColumnsRunnable);
+        mAttachedColumnsUpdatePosted = false;
+    }
+
+    private void postUpdateAttachedColumns() {
+        if (!mColumnVirtualizationEnabled || mAttachedColumnsUpdatePosted) {
+            return;
+        }
+        mAttachedColumnsUpdatePosted = true;
+        post(mUpdateAttachedColumnsRunnable);
+    }
+
+    /**
+     * Attaches the lists of the visible columns plus the prefetch window and detaches the rest. Column positions are
+     * calculated from the column layout params so this also works before the first layout.
+     */
+    private void updateAttachedColumns() {
+        if (!mColumnVirtualizationEnabled || mLists.isEmpty()) {
+            return;
+        }
+
+        int viewportWidth = getWidth() > 0 ? getWidth() : getResources().getDisplayMetrics().widthPixels;
+        int visibleLeft = getScrollX();
+        int visibleRight = visibleLeft + viewportWidth;
+        int firstVisible = -1;
+        int lastVisible = -1;
+        int columnLeft = 0;
+        for (int i = 0; i < mLists.size(); i++) {
+            int columnWidth = mLists.get(i).getOuterParent().getLayoutParams().width;
+            if (columnLeft + columnWidth > visibleLeft && columnLeft < visibleRight) {
+                if (firstVisible == -1) {
+                    firstVisible = i;
+                }
+                lastVisible = i;
+            }
+            columnLeft += columnWidth;
+        }
+
+        int firstAttached = firstVisible == -1 ? 0 : firstVisible - mColumnPrefetchCount;
+        int lastAttached = lastVisible == -1 ? 0 : lastVisible + mColumnPrefetchCount;
+        for (int i = 0; i < mLists.size(); i++) {
+            DragItemRecyclerView list = mLists.get(i);
+            boolean isDragList = list == mCurrentRecyclerView && list.isDragging();
+            if ((i >= firstAttached && i <= lastAttached) || isDragList) {
+                list.attachToColumn();
+            } else {
+                list.detachFromColumn(mRecycledViewPool == null);
+            }
+        }
     }
 
     @Override
@@ -238,6 +352,10 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
             if (item != null) {
                 mCurrentRecyclerView = currentList;
                 mCurrentRecyclerView.addDragItemAndStart(getListTouchY(mCurrentRecyclerView), item, itemId);
+                if (mItemColumns != null) {
+                    mItemColumns.put(itemId, newColumn);
+                    onItemColumnsUpdated();
+                }
                 mDragItem.setOffset((mCurrentRecyclerView.getOuterParent()).getLeft(), mCurrentRecyclerView.getTop());
 
                 if (mBoardListener != null) {
@@ -251,9 +369,9 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
 
         float scrollEdge = getResources().getDisplayMetrics().widthPixels * 0.14f;
         if (mTouchX > getWidth() - scrollEdge && getScrollX() < mColumnLayout.getWidth()) {
-            mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.LEFT);
+            mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.LEFT, (mTouchX - (getWidth() - scrollEdge)) / scrollEdge);
         } else if (mTouchX < scrollEdge && getScrollX() > 0) {
-            mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.RIGHT);
+            mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.RIGHT, (scrollEdge - mTouchX) / scrollEdge);
         } else {
             mAutoScroller.stopAutoScroll();
         }
@@ -269,35 +387,83 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
     }
 
     private DragItemRecyclerView getCurrentRecyclerView(float x) {
-        for (DragItemRecyclerView list : mLists) {
-            View parent = list.getOuterParent();
-            if (parent.getLeft() <= x && parent.getRight() > x) {
-                return list;
+        int column = getColumnAt(x);
+        return column != -1 ? mLists.get(column) : mCurrentRecyclerView;
+    }
+
+    private int getColumnOfList(DragItemRecyclerView list) {
+        Integer column = mListColumns.get(list);
+        return column != null ? column : 0;
+    }
+
+    private int getCurrentColumn(float posX) {
+        int column = getColumnAt(posX);
+        return column != -1 ? column : 0;
+    }
+
+    /**
+     * @return the column at the x position in board coordinates or -1 if there is no column at that position. Uses
+     * arithmetic if all columns have the same width and a binary search on the cached column edges otherwise.
+     */
+    private int getColumnAt(float x) {
+        updateColumnEdges();
+        int count = mColumnLefts.length;
+        if (count == 0 || x < mColumnLefts[0] || x >= mColumnRights[count - 1]) {
+            return -1;
+        }
+
+        if (mUniformColumnWidth > 0) {
+            return Math.min((int) ((x - mColumnLefts[0]) / mUniformColumnWidth), count - 1);
+        }
+
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (mColumnLefts[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
         }
-        return mCurrentRecyclerView;
+        return x < mColumnRights[low] ? low : -1;
     }
 
-    private int getColumnOfList(DragItemRecyclerView list) {
-        int column = 0;
-        for (int i = 0; i < mLists.size(); i++) {
-            RecyclerView tmpList = mLists.get(i);
-            if (tmpList == list) {
-                column = i;
+    private void updateColumnEdges() {
+        if (mColumnEdgesValid) {
+            return;
+        }
+
+        int count = mLists.size();
+        if (mColumnLefts.length != count) {
+            mColumnLefts = new int[count];
+            mColumnRights = new int[count];
+        }
+
+        int uniformWidth = -1;
+        for (int i = 0; i < count; i++) {
+            View parent = mLists.get(i).getOuterParent();
+            mColumnLefts[i] = parent.getLeft();
+            mColumnRights[i] = parent.getRight();
+
+            int width = mColumnRights[i] - mColumnLefts[i];
+            if (i == 0) {
+                uniformWidth = width;
+            } else if (width != uniformWidth || mColumnLefts[i] != mColumnRights[i - 1]) {
+                uniformWidth = -1;
             }
         }
-        return column;
+        mUniformColumnWidth = uniformWidth > 0 ? uniformWidth : 0;
+        mColumnEdgesValid = true;
     }
 
-    private int getCurrentColumn(float posX) {
+    private void onColumnsChanged() {
+        mItemColumns = null;
+        mListColumns.clear();
         for (int i = 0; i < mLists.size(); i++) {
-            DragItemRecyclerView list = mLists.get(i);
-            View parent = list.getOuterParent();
-            if (parent.getLeft() <= posX && parent.getRight() > posX) {
-                return i;
-            }
+            mListColumns.put(mLists.get(i), i);
         }
-        return 0;
+        mColumnEdgesValid = false;
     }
 
     private int getClosestColumn() {
@@ -370,7 +536,9 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
     public void removeItem(int column, int row) {
         if (!isDragging() && mLists.size() > column && mLists.get(column).getAdapter().getItemCount() > row) {
             DragItemAdapter adapter = (DragItemAdapter) mLists.get(column).getAdapter();
+            onItemRemoved(adapter, row);
             adapter.removeItem(row);
+            onItemColumnsUpdated();
         }
     }
 
@@ -378,6 +546,8 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         if (!isDragging() && mLists.size() > column && mLists.get(column).getAdapter().getItemCount() >= row) {
             DragItemAdapter adapter = (DragItemAdapter) mLists.get(column).getAdapter();
             adapter.addItem(row, item);
+            onItemAdded(column, row);
+            onItemColumnsUpdated();
             if (scrollToItem) {
                 scrollToItem(column, row, false);
             }
@@ -388,9 +558,12 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         if (!isDragging() && mLists.size() > fromColumn && mLists.get(fromColumn).getAdapter().getItemCount() > fromRow
                 && mLists.size() > toColumn && mLists.get(toColumn).getAdapter().getItemCount() >= toRow) {
             DragItemAdapter adapter = (DragItemAdapter) mLists.get(fromColumn).getAdapter();
+            onItemRemoved(adapter, fromRow);
             Object item = adapter.removeItem(fromRow);
             adapter = (DragItemAdapter) mLists.get(toColumn).getAdapter();
             adapter.addItem(toRow, item);
+            onItemAdded(toColumn, toRow);
+            onItemColumnsUpdated();
             if (scrollToItem) {
                 scrollToItem(toColumn, toRow, false);
             }
@@ -398,24 +571,100 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
     }
 
     public void moveItem(long itemId, int toColumn, int toRow, boolean scrollToItem) {
+        Pair<Integer, Integer> position = findItem(itemId);
+        if (position != null) {
+            moveItem(position.first, position.second, toColumn, toRow, scrollToItem);
+        }
+    }
+
+    /**
+     * Finds the column and row of an item. The column is looked up in an index from item id to column that is kept up to
+     * date by drags and the item methods of the board, the row is then looked up with
+     * {@link DragItemAdapter#getPositionForItemId}. Enable {@link DragItemAdapter#setItemIdIndexEnabled} on the column
+     * adapters for the whole lookup to run in constant time.
+     *
+     * @param itemId The id of the item to find.
+     * @return A pair with the column as first and the row as second, or null if no column has an item with the id.
+     */
+    public Pair<Integer, Integer> findItem(long itemId) {
+        if (mItemColumns == null || mItemColumns.size() != getItemCount()) {
+            rebuildItemColumns();
+        }
+        Pair<Integer, Integer> position = findItemInColumns(itemId);
+        if (position != null || mItemColumnsVersion == getListVersion()) {
+            return position;
+        }
+
+        // A column adapter has been changed since the index was built, rebuild and try again
+        rebuildItemColumns();
+        return findItemInColumns(itemId);
+    }
+
+    private Pair<Integer, Integer> findItemInColumns(long itemId) {
+        int column = mItemColumns.get(itemId, -1);
+        if (column == -1 || column >= mLists.size()) {
+            return null;
+        }
+        int row = getAdapter(column).getPositionForItemId(itemId);
+        return row != RecyclerView.NO_POSITION ? new Pair<>(column, row) : null;
+    }
+
+    private void rebuildItemColumns() {
+        if (mItemColumns == null) {
+            mItemColumns = new LongIntMap(getItemCount());
+        } else {
+            mItemColumns.clear();
+        }
         for (int i = 0; i < mLists.size(); i++) {
             RecyclerView.Adapter adapter = mLists.get(i).getAdapter();
             final int count = adapter.getItemCount();
             for (int j = 0; j < count; j++) {
-                long id = adapter.getItemId(j);
-                if (id == itemId) {
-                    moveItem(i, j, toColumn, toRow, scrollToItem);
-                    return;
-                }
+                mItemColumns.put(adapter.getItemId(j), i);
             }
         }
+        mItemColumnsVersion = getListVersion();
+    }
+
+    /**
+     * @return The sum of the list versions of all column adapters, changes whenever any column changes.
+     */
+    private int getListVersion() {
+        int version = 0;
+        for (int i = 0; i < mLists.size(); i++) {
+            version += getAdapter(i).getListVersion();
+        }
+        return version;
+    }
+
+    /**
+     * Called after the board has changed columns itself and updated the index for it.
+     */
+    private void onItemColumnsUpdated() {
+        if (mItemColumns != null) {
+            mItemColumnsVersion = getListVersion();
+        }
+    }
+
+    private void onItemAdded(int column, int row) {
+        if (mItemColumns != null && getItemCount(column) > row) {
+            mItemColumns.put(getAdapter(column).getItemId(row), column);
+        }
+    }
+
+    private void onItemRemoved(DragItemAdapter adapter, int row) {
+        if (mItemColumns != null) {
+            mItemColumns.remove(adapter.getItemId(row));
+        }
     }
 
     public void replaceItem(int column, int row, Object item, boolean scrollToItem) {
         if (!isDragging() && mLists.size() > column && mLists.get(column).getAdapter().getItemCount() > row) {
             DragItemAdapter adapter = (DragItemAdapter) mLists.get(column).getAdapter();
+            onItemRemoved(adapter, row);
             adapter.removeItem(row);
             adapter.addItem(row, item);
+            onItemAdded(column, row);
+            onItemColumnsUpdated();
             if (scrollToItem) {
                 scrollToItem(column, row, false);
             }
@@ -462,6 +711,7 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
             mHeaders.remove(i);
             mLists.remove(i);
         }
+        onColumnsChanged();
     }
 
     public void removeColumn(int column) {
@@ -469,6 +719,8 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
             mColumnLayout.removeViewAt(column);
             mHeaders.remove(column);
             mLists.remove(column);
+            onColumnsChanged();
+            updateAttachedColumns();
         }
     }
 
@@ -485,6 +737,33 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         }
     }
 
+    /**
+     * Set if the adapters should only be changed when an item is dropped or moved to another column. While dragging
+     * within a column, the other items are moved out of the way with view translations instead, which needs no layout
+     * passes. Disabled by default.
+     *
+     * @param enabled True if gap drag mode should be used, false otherwise.
+     */
+    public void setGapDragEnabled(boolean enabled) {
+        mGapDragEnabled = enabled;
+        for (DragItemRecyclerView list : mLists) {
+            list.setGapDragEnabled(enabled);
+        }
+    }
+
+    /**
+     * Set how far past the middle of an item the drag must go before the dragged item moves to its position. This
+     * stops items from flipping back and forth when an item is held on the border between two items.
+     *
+     * @param hysteresis The distance in pixels, 0 to move as soon as the drag is over another item. Default is 0.
+     */
+    public void setDragReorderHysteresis(int hysteresis) {
+        mReorderHysteresis = hysteresis;
+        for (DragItemRecyclerView list : mLists) {
+            list.setDragReorderHysteresis(hysteresis);
+        }
+    }
+
     /**
      * @param width the width of columns in both portrait and landscape. This must be called before {@link
      *              #addColumnList} is
@@ -494,6 +773,111 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         mColumnWidth = width;
     }
 
+    /**
+     * Enables column virtualization. When enabled only the lists of the visible columns plus a prefetch window of
+     * columns on each side are attached and laid out. The lists of other columns are detached and their item views
+     * recycled, the column layouts and headers are kept so scrolling, snapping and dragging between columns work as
+     * before. Recommended for boards with many columns.
+     *
+     * @param enabled True if columns outside of the visible area should be detached, false otherwise.
+     */
+    public void setColumnVirtualizationEnabled(boolean enabled) {
+        mColumnVirtualizationEnabled = enabled;
+        for (DragItemRecyclerView list : mLists) {
+            ((LinearLayoutManager) list.getLayoutManager()).setRecycleChildrenOnDetach(enabled);
+            if (!enabled) {
+                list.attachToColumn();
+            }
+        }
+        updateAttachedColumns();
+    }
+
+    public boolean isColumnVirtualizationEnabled() {
+        return mColumnVirtualizationEnabled;
+    }
+
+    /**
+     * @param prefetchCount the number of columns on each side of the visible columns that are kept attached when column
+     *                      virtualization is enabled. Default is 1.
+     */
+    public void setColumnPrefetchCount(int prefetchCount) {
+        mColumnPrefetchCount = Math.max(0, prefetchCount);
+        updateAttachedColumns();
+    }
+
+    /**
+     * Sets a view pool that is shared by the lists of all columns, so item views scrolled out of one column can be
+     * reused by another column and an item dragged to a new column does not need a new view. The adapters of all
+     * columns must create compatible view holders for the same view type.
+     *
+     * @param pool The pool to share or null to let each column have its own pool.
+     */
+    public void setRecycledViewPool(RecyclerView.RecycledViewPool pool) {
+        mRecycledViewPool = pool;
+        if (mRecycledViewPool != null) {
+            for (int i = 0; i < mMaxRecycledViews.size(); i++) {
+                mRecycledViewPool.setMaxRecycledViews(mMaxRecycledViews.keyAt(i), mMaxRecycledViews.valueAt(i));
+            }
+        }
+        for (DragItemRecyclerView list : mLists) {
+            list.setRecycledViewPool(mRecycledViewPool);
+        }
+    }
+
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return mRecycledViewPool;
+    }
+
+    /**
+     * Sets how many views of a view type the shared view pool should keep, see {@link #setRecycledViewPool}.
+     *
+     * @param viewType The view type.
+     * @param max      The max number of views of the view type to keep in the pool.
+     */
+    public void setMaxRecycledViews(int viewType, int max) {
+        mMaxRecycledViews.put(viewType, max);
+        if (mRecycledViewPool != null) {
+            mRecycledViewPool.setMaxRecycledViews(viewType, max);
+        }
+    }
+
+    /**
+     * Creates view holders with the adapter and puts them in the shared view pool, see {@link #setRecycledViewPool}.
+     * One view holder is created each time the main thread is idle, so the inflation does not delay the first frame
+     * or happen while scrolling and dragging. The max recycled views of the view type is raised to at least count.
+     *
+     * @param adapter  The adapter used to create the view holders.
+     * @param viewType The view type to create.
+     * @param count    The number of view holders to create.
+     */
+    public void prewarmRecycledViewPool(final DragItemAdapter adapter, final int viewType, final int count) {
+        if (mRecycledViewPool == null || count <= 0) {
+            return;
+        }
+
+        if (mMaxRecycledViews.get(viewType, 0) < count) {
+            setMaxRecycledViews(viewType, count);
+        }
+
+        final RecyclerView.RecycledViewPool pool = mRecycledViewPool;
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            private int mCreated;
+
+            @Override
+            public boolean queueIdle() {
+                // The pool might have been replaced or no column exists to act as parent for the item views
+                if (pool != mRecycledViewPool || mLists.isEmpty()) {
+                    return false;
+                }
+
+                RecyclerView.ViewHolder holder = adapter.createViewHolder(mLists.get(0), viewType);
+                pool.putRecycledView(holder);
+                mCreated++;
+                return mCreated < count;
+            }
+        });
+    }
+
     /**
      * @param snapToColumn true if scrolling should snap to columns. Only applies to portrait mode.
      */
@@ -511,6 +895,26 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
                 .POSITION);
     }
 
+    /**
+     * Sets how the auto scroll speed should change when dragging an item towards the edge of the board or a column. By
+     * default the board and columns scroll at a fixed speed. Column snapping when dragging is not affected.
+     *
+     * @param maxEdgeSpeedFactor The speed factor when the drag item is at the very edge. The speed grows linearly from
+     *                           the normal speed where auto scroll starts. 1 gives a fixed speed.
+     * @param maxHoldSpeedFactor The speed factor reached when the drag item has been held at the edge for
+     *                           holdRampDuration. 1 disables the acceleration.
+     * @param holdRampDuration   The time in ms it takes to accelerate to maxHoldSpeedFactor.
+     */
+    public void setAutoScrollSpeedProfile(float maxEdgeSpeedFactor, float maxHoldSpeedFactor, int holdRampDuration) {
+        mMaxEdgeSpeedFactor = maxEdgeSpeedFactor;
+        mMaxHoldSpeedFactor = maxHoldSpeedFactor;
+        mHoldRampDuration = holdRampDuration;
+        mAutoScroller.setSpeedProfile(maxEdgeSpeedFactor, maxHoldSpeedFactor, holdRampDuration);
+        for (DragItemRecyclerView list : mLists) {
+            list.setAutoScrollSpeedProfile(maxEdgeSpeedFactor, maxHoldSpeedFactor, holdRampDuration);
+        }
+    }
+
     /**
      * @param snapToTouch true if the drag item should snap to touch position when a drag is started.
      */
@@ -522,6 +926,14 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         mBoardListener = listener;
     }
 
+    /**
+     * @param listener Listener that gets the net result of every drag as one {@link DragMove}, no matter how many
+     *                 columns the item passed on the way.
+     */
+    public void setDragMoveListener(DragMove.Listener listener) {
+        mDragMoveListener = listener;
+    }
+
     public void setCustomDragItem(DragItem dragItem) {
         DragItem newDragItem;
         if (dragItem != null) {
@@ -551,6 +963,8 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
 
         mLists.add(recyclerView);
         mColumnLayout.addView(layout);
+        onColumnsChanged();
+        updateAttachedColumns();
         return recyclerView;
     }
 
@@ -559,9 +973,14 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
         recyclerView.setMotionEventSplittingEnabled(false);
         recyclerView.setDragItem(mDragItem);
         recyclerView.setLayoutParams(new LinearLayout.LayoutParams(LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.MATCH_PARENT));
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        layoutManager.setRecycleChildrenOnDetach(mColumnVirtualizationEnabled);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setHasFixedSize(hasFixedItemSize);
         recyclerView.setItemAnimator(new DefaultItemAnimator());
+        if (mRecycledViewPool != null) {
+            recyclerView.setRecycledViewPool(mRecycledViewPool);
+        }
         recyclerView.setDragItemListener(new DragItemRecyclerView.DragItemListener() {
             @Override
             public void onDragStarted(int itemPosition, float x, float y) {
@@ -569,6 +988,7 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
                 mDragStartRow = itemPosition;
                 mCurrentRecyclerView = recyclerView;
                 mDragItem.setOffset(mCurrentRecyclerView.getOuterParent().getX(), mCurrentRecyclerView.getY());
+                mDragMoveJournal.start(recyclerView.getDragItemId(), mDragStartColumn, mDragStartRow);
                 if (mBoardListener != null) {
                     mBoardListener.onItemDragStarted(mDragStartColumn, mDragStartRow);
                 }
@@ -577,18 +997,27 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
 
             @Override
             public void onDragging(int itemPosition, float x, float y) {
+                mDragMoveJournal.update(getColumnOfList(recyclerView), itemPosition);
             }
 
             @Override
             public void onDragEnded(int newItemPosition) {
+                int column = getColumnOfList(recyclerView);
                 if (mBoardListener != null) {
-                    mBoardListener.onItemDragEnded(mDragStartColumn, mDragStartRow, getColumnOfList(recyclerView), newItemPosition);
+                    mBoardListener.onItemDragEnded(mDragStartColumn, mDragStartRow, column, newItemPosition);
+                }
+                DragMove move = mDragMoveJournal.end(adapter, column, newItemPosition);
+                if (mDragMoveListener != null && move != null) {
+                    mDragMoveListener.onItemMoved(move);
                 }
             }
         });
 
         recyclerView.setAdapter(adapter);
         recyclerView.setDragEnabled(mDragEnabled);
+        recyclerView.setGapDragEnabled(mGapDragEnabled);
+        recyclerView.setDragReorderHysteresis(mReorderHysteresis);
+        recyclerView.setAutoScrollSpeedProfile(mMaxEdgeSpeedFactor, mMaxHoldSpeedFactor, mHoldRampDuration);
         adapter.setDragStartedListener(new DragItemAdapter.DragStartCallback() {
             @Override
             public boolean startDrag(View itemView, long itemId) {
@@ -615,6 +1044,8 @@ public class BoardView extends HorizontalScrollView implements AutoScroller.Auto
 
         mLists.add(recyclerView);
         mColumnLayout.addView(containerLayout);
+        onColumnsChanged();
+        updateAttachedColumns();
         return recyclerView;
     }
 
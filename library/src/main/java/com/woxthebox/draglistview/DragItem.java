@@ -16,21 +16,112 @@
 
 package com.woxthebox.draglistview;
 
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ObjectAnimator;
-import android.animation.PropertyValuesHolder;
+import android.animation.Animator;
+import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
 import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
 import android.os.Build;
+import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.RecyclerView;
 import android.view.View;
+import android.view.ViewTreeObserver;
 import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.widget.FrameLayout;
 
 public class DragItem {
+    /**
+     * How the default drag item draws the dragged view.
+     */
+    public enum ShadowMode {
+        /**
+         * Draws the view into a full size bitmap with alpha. This is the default.
+         */
+        ARGB_8888,
+        /**
+         * Draws the view into a full size bitmap without alpha, which uses half the memory. Only use it for opaque items
+         * since transparent parts are drawn black.
+         */
+        RGB_565,
+        /**
+         * Draws the view into a bitmap of half the size that is scaled up when drawn, which uses a quarter of the memory.
+         */
+        DOWNSCALED,
+        /**
+         * Draws the view itself on every frame instead of a copy, so there is no bitmap to draw at pickup and the drag
+         * item shows any change or animation of the dragged view. The view is kept from being recycled while dragging.
+         */
+        LIVE,
+        /**
+         * Does not draw the view. Use it when {@link #onBindDragView} is overridden to bind the drag view itself.
+         */
+        NONE
+    }
+
+    /**
+     * Draws a view scaled to the bounds of the drawable.
+     */
+    private static class ViewDrawable extends Drawable {
+        private View mView;
+
+        void setView(View view) {
+            mView = view;
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            if (mView == null || mView.getWidth() == 0 || mView.getHeight() == 0) {
+                return;
+            }
+
+            Rect bounds = getBounds();
+            int saveCount = canvas.save();
+            canvas.translate(bounds.left, bounds.top);
+            canvas.scale(bounds.width() / (float) mView.getWidth(), bounds.height() / (float) mView.getHeight());
+            mView.draw(canvas);
+            canvas.restoreToCount(saveCount);
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+
     protected static final int ANIMATION_DURATION = 250;
+    private static final float DOWNSCALE_FACTOR = 0.5f;
+    private static final Interpolator ANIMATION_INTERPOLATOR = new DecelerateInterpolator();
     private View mDragView;
+    private ShadowMode mShadowMode = ShadowMode.ARGB_8888;
+    private BitmapPool mBitmapPool = new BitmapPool();
+    private Canvas mShadowCanvas = new Canvas();
+    private Bitmap mShadowBitmap;
+    private Drawable mShadowDrawable;
+    private ViewDrawable mLiveShadowDrawable = new ViewDrawable();
+    private RecyclerView.ViewHolder mLiveShadowHolder;
+    private ViewTreeObserver mLiveShadowObserver;
+    private final ViewTreeObserver.OnPreDrawListener mLiveShadowPreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            // The dragged view is invisible so its own invalidations never reach the drag view
+            mLiveShadowDrawable.invalidateSelf();
+            return true;
+        }
+    };
 
     private float mStartOffsetX;
     private float mStartOffsetY;
@@ -44,6 +135,68 @@ public class DragItem {
     private float mAnimationDy;
     private boolean mCanDragHorizontally = true;
     private boolean mSnapToTouch = true;
+    private boolean mTransformOnly;
+    private float mDragScale = 1;
+    private float mDragElevation;
+    private boolean mDragTransformApplied;
+
+    // The animators are reused for every drag and animate a fraction from 0 to 1 between the stored values
+    private ValueAnimator mStartAnimator;
+    private ValueAnimator mEndAnimator;
+    private float mStartAnimationDx;
+    private float mStartAnimationDy;
+    private float mEndFromX;
+    private float mEndFromY;
+    private float mEndToX;
+    private float mEndToY;
+    private Animator.AnimatorListener mEndListener;
+    private final ValueAnimator.AnimatorUpdateListener mStartUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            float remaining = 1 - (Float) animation.getAnimatedValue();
+            mAnimationDx = mStartAnimationDx * remaining;
+            mAnimationDy = mStartAnimationDy * remaining;
+            updatePosition();
+        }
+    };
+    private final ValueAnimator.AnimatorUpdateListener mEndUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            float fraction = (Float) animation.getAnimatedValue();
+            mPosX = mEndFromX + (mEndToX - mEndFromX) * fraction;
+            mPosY = mEndFromY + (mEndToY - mEndFromY) * fraction;
+            updatePosition();
+        }
+    };
+    private final Animator.AnimatorListener mEndAnimatorListener = new Animator.AnimatorListener() {
+        @Override
+        public void onAnimationStart(Animator animation) {
+            if (mEndListener != null) {
+                mEndListener.onAnimationStart(animation);
+            }
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            // Clear before calling so a new drag started from the listener keeps its own listener
+            Animator.AnimatorListener listener = mEndListener;
+            mEndListener = null;
+            if (listener != null) {
+                listener.onAnimationEnd(animation);
+            }
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+            if (mEndListener != null) {
+                mEndListener.onAnimationCancel(animation);
+            }
+        }
+
+        @Override
+        public void onAnimationRepeat(Animator animation) {
+        }
+    };
 
     public DragItem(Context context) {
         mDragView = new View(context);
@@ -56,17 +209,131 @@ public class DragItem {
     }
 
     public void onBindDragView(View clickedView, View dragView) {
-        Bitmap bitmap = Bitmap.createBitmap(clickedView.getWidth(), clickedView.getHeight(), Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(bitmap);
-        clickedView.draw(canvas);
+        if (mShadowMode == ShadowMode.NONE) {
+            return;
+        }
+
+        if (mShadowMode == ShadowMode.LIVE) {
+            releaseShadow();
+            mLiveShadowDrawable.setView(clickedView);
+            mShadowDrawable = mLiveShadowDrawable;
+            mLiveShadowObserver = dragView.getViewTreeObserver();
+            mLiveShadowObserver.addOnPreDrawListener(mLiveShadowPreDrawListener);
+        } else {
+            mShadowDrawable = new BitmapDrawable(clickedView.getResources(), drawShadowBitmap(clickedView));
+        }
+        setBackground(dragView, mShadowDrawable);
+    }
+
+    /**
+     * Draws the view into a bitmap from the pool. The bitmap is returned to the pool when the drag item is hidden.
+     */
+    private Bitmap drawShadowBitmap(View clickedView) {
+        releaseShadow();
+
+        float scale = mShadowMode == ShadowMode.DOWNSCALED ? DOWNSCALE_FACTOR : 1;
+        int width = Math.max(1, (int) (clickedView.getWidth() * scale));
+        int height = Math.max(1, (int) (clickedView.getHeight() * scale));
+        Bitmap.Config config = mShadowMode == ShadowMode.RGB_565 ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+        mShadowBitmap = mBitmapPool.get(width, height, config);
+
+        mShadowCanvas.setBitmap(mShadowBitmap);
+        int saveCount = mShadowCanvas.save();
+        mShadowCanvas.scale(scale, scale);
+        clickedView.draw(mShadowCanvas);
+        mShadowCanvas.restoreToCount(saveCount);
+        mShadowCanvas.setBitmap(null);
+        return mShadowBitmap;
+    }
+
+    private void releaseShadow() {
+        if (mShadowDrawable != null && mDragView.getBackground() == mShadowDrawable) {
+            setBackground(mDragView, null);
+        }
+        mShadowDrawable = null;
+        if (mShadowBitmap != null) {
+            mBitmapPool.put(mShadowBitmap);
+            mShadowBitmap = null;
+        }
+
+        mLiveShadowDrawable.setView(null);
+        if (mLiveShadowObserver != null) {
+            if (mLiveShadowObserver.isAlive()) {
+                mLiveShadowObserver.removeOnPreDrawListener(mLiveShadowPreDrawListener);
+            }
+            mLiveShadowObserver = null;
+        }
+    }
+
+    private void releaseSourceHolder() {
+        if (mLiveShadowHolder != null) {
+            mLiveShadowHolder.setIsRecyclable(true);
+            mLiveShadowHolder = null;
+        }
+    }
+
+    /**
+     * Sets the holder of the dragged view. In live mode the holder is kept from being recycled until the drag item is
+     * hidden, since the drag item draws its view.
+     */
+    void setSourceHolder(RecyclerView.ViewHolder holder) {
+        if (mShadowMode == ShadowMode.LIVE && holder != null && holder != mLiveShadowHolder) {
+            releaseSourceHolder();
+            holder.setIsRecyclable(false);
+            mLiveShadowHolder = holder;
+        }
+    }
+
+    private static void setBackground(View view, Drawable drawable) {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-            dragView.setBackground(new BitmapDrawable(clickedView.getResources(), bitmap));
+            view.setBackground(drawable);
         } else {
             //noinspection deprecation
-            dragView.setBackgroundDrawable(new BitmapDrawable(clickedView.getResources(), bitmap));
+            view.setBackgroundDrawable(drawable);
         }
     }
 
+    /**
+     * @param shadowMode How the dragged view is drawn by the default {@link #onBindDragView}. Default is
+     *                   {@link ShadowMode#ARGB_8888}.
+     */
+    public void setShadowMode(ShadowMode shadowMode) {
+        mShadowMode = shadowMode;
+        if (mShadowMode == ShadowMode.NONE) {
+            mBitmapPool.clear();
+        }
+    }
+
+    public ShadowMode getShadowMode() {
+        return mShadowMode;
+    }
+
+    /**
+     * Set if the drag view should only be moved by changing its transform. Moving it then never redraws its content, and
+     * the drag view is drawn into a hardware layer while dragging unless the shadow mode is {@link ShadowMode#LIVE},
+     * which redraws every frame anyway. Drag scale and elevation are only applied in this mode. Disabled by default.
+     *
+     * @param transformOnly True if only the transform of the drag view should change when it moves.
+     */
+    public void setTransformOnlyPositioning(boolean transformOnly) {
+        mTransformOnly = transformOnly;
+    }
+
+    /**
+     * @param scale The scale of the drag view while dragging when transform only positioning is enabled. Default is 1.
+     */
+    public void setDragScale(float scale) {
+        mDragScale = scale;
+    }
+
+    /**
+     * @param elevation The elevation of the drag view in pixels while dragging when transform only positioning is
+     *                  enabled. Only has an effect from Lollipop. Default is 0.
+     */
+    public void setDragElevation(float elevation) {
+        mDragElevation = elevation;
+    }
+
     public void onMeasureDragView(View clickedView, View dragView) {
         dragView.setLayoutParams(new FrameLayout.LayoutParams(clickedView.getMeasuredWidth(), clickedView.getMeasuredHeight()));
         int widthSpec = View.MeasureSpec.makeMeasureSpec(clickedView.getMeasuredWidth(), View.MeasureSpec.EXACTLY);
@@ -106,12 +373,34 @@ public class DragItem {
 
     void hide() {
         mDragView.setVisibility(View.GONE);
+        releaseShadow();
+        releaseSourceHolder();
+        if (mDragTransformApplied) {
+            ViewCompat.setScaleX(mDragView, 1);
+            ViewCompat.setScaleY(mDragView, 1);
+            ViewCompat.setElevation(mDragView, 0);
+            ViewCompat.setLayerType(mDragView, ViewCompat.LAYER_TYPE_NONE, null);
+            mDragTransformApplied = false;
+        }
+    }
+
+    private void applyDragTransform() {
+        mDragTransformApplied = true;
+        ViewCompat.setScaleX(mDragView, mDragScale);
+        ViewCompat.setScaleY(mDragView, mDragScale);
+        ViewCompat.setElevation(mDragView, mDragElevation);
+        if (mShadowMode != ShadowMode.LIVE) {
+            ViewCompat.setLayerType(mDragView, ViewCompat.LAYER_TYPE_HARDWARE, null);
+        }
     }
 
     void startDrag(View startFromView, float touchX, float touchY) {
         show();
         onBindDragView(startFromView, mDragView);
         onMeasureDragView(startFromView, mDragView);
+        if (mTransformOnly) {
+            applyDragTransform();
+        }
         onStartDragAnimation(mDragView);
 
         float startX = startFromView.getX() + mStartOffsetX - (mDragView.getMeasuredWidth() - startFromView.getMeasuredWidth()) / 2 + mDragView
@@ -126,12 +415,12 @@ public class DragItem {
             setAnimationDx(startX - touchX);
             setAnimationDY(startY - touchY);
 
-            PropertyValuesHolder pvhX = PropertyValuesHolder.ofFloat("AnimationDx", mAnimationDx, 0);
-            PropertyValuesHolder pvhY = PropertyValuesHolder.ofFloat("AnimationDY", mAnimationDy, 0);
-            ObjectAnimator anim = ObjectAnimator.ofPropertyValuesHolder(this, pvhX, pvhY);
-            anim.setInterpolator(new DecelerateInterpolator());
-            anim.setDuration(ANIMATION_DURATION);
-            anim.start();
+            if (mStartAnimator == null) {
+                mStartAnimator = createAnimator(mStartUpdateListener);
+            }
+            mStartAnimationDx = mAnimationDx;
+            mStartAnimationDy = mAnimationDy;
+            mStartAnimator.start();
         } else {
             mPosTouchDx = startX - touchX;
             mPosTouchDy = startY - touchY;
@@ -139,20 +428,31 @@ public class DragItem {
         }
     }
 
-    void endDrag(View endToView, AnimatorListenerAdapter listener) {
+    void endDrag(View endToView, Animator.AnimatorListener listener) {
         onEndDragAnimation(mDragView);
 
         float endX = endToView.getX() + mStartOffsetX - (mDragView.getMeasuredWidth() - endToView.getMeasuredWidth()) / 2 + mDragView
                 .getMeasuredWidth() / 2;
         float endY = endToView.getY() + mStartOffsetY - (mDragView.getMeasuredHeight() - endToView.getMeasuredHeight()) / 2 + mDragView
                 .getMeasuredHeight() / 2;
-        PropertyValuesHolder pvhX = PropertyValuesHolder.ofFloat("X", mPosX, endX);
-        PropertyValuesHolder pvhY = PropertyValuesHolder.ofFloat("Y", mPosY, endY);
-        ObjectAnimator anim = ObjectAnimator.ofPropertyValuesHolder(this, pvhX, pvhY);
-        anim.setInterpolator(new DecelerateInterpolator());
-        anim.setDuration(ANIMATION_DURATION);
-        anim.addListener(listener);
-        anim.start();
+        if (mEndAnimator == null) {
+            mEndAnimator = createAnimator(mEndUpdateListener);
+            mEndAnimator.addListener(mEndAnimatorListener);
+        }
+        mEndFromX = mPosX;
+        mEndFromY = mPosY;
+        mEndToX = endX;
+        mEndToY = endY;
+        mEndListener = listener;
+        mEndAnimator.start();
+    }
+
+    private static ValueAnimator createAnimator(ValueAnimator.AnimatorUpdateListener updateListener) {
+        ValueAnimator animator = ValueAnimator.ofFloat(0, 1);
+        animator.setInterpolator(ANIMATION_INTERPOLATOR);
+        animator.setDuration(ANIMATION_DURATION);
+        animator.addUpdateListener(updateListener);
+        return animator;
     }
 
     void setAnimationDx(float x) {
@@ -165,18 +465,6 @@ public class DragItem {
         updatePosition();
     }
 
-    @SuppressWarnings("unused")
-    void setX(float x) {
-        mPosX = x;
-        updatePosition();
-    }
-
-    @SuppressWarnings("unused")
-    void setY(float y) {
-        mPosY = y;
-        updatePosition();
-    }
-
     void setStartOffset(float xStartOffset, float yStartOffset) {
         mStartOffsetX = xStartOffset;
         mStartOffsetY = yStartOffset;
@@ -208,6 +496,8 @@ public class DragItem {
         }
 
         mDragView.setY(mPosY + mOffsetY + mAnimationDy - mDragView.getMeasuredHeight() / 2);
-        mDragView.invalidate();
+        if (!mTransformOnly) {
+            mDragView.invalidate();
+        }
     }
 }
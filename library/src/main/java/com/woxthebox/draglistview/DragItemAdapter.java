@@ -16,7 +16,11 @@
 
 package com.woxthebox.draglistview;
 
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.Nullable;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.util.Log;
 import android.view.MotionEvent;
@@ -26,10 +30,33 @@ import android.view.animation.Animation;
 import android.view.animation.Interpolator;
 import android.view.animation.Transformation;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 public abstract class DragItemAdapter<T, VH extends DragItemAdapter.ViewHolder> extends RecyclerView.Adapter<VH> {
+    /**
+     * Payload used when only the drag state of an item has changed. A bind with only this payload will just update the
+     * visibility of the item view and will not call {@link #onBindViewHolder(ViewHolder, int)}.
+     */
+    public static final Object DRAG_STATE = new Object();
+
+    /**
+     * Used in order key mode to read and store the order keys of items, see {@link #setOrderKeyCallback}.
+     */
+    public interface OrderKeyCallback<T> {
+        String getOrderKey(T item);
+
+        /**
+         * Called when the library has generated a new order key for an item. Persist the key here, a drag only
+         * changes the key of the dragged item unless the keys have to be rebalanced.
+         */
+        void onOrderKeyChanged(T item, String orderKey);
+    }
+
+    private static final int MAX_ORDER_KEY_LENGTH = 24;
     private static final int ITEM_ANIMATION_DURATION = 368;
     private static final float ITEM_INTERPOLATOR_ACCELERATION = 1.6f;
 
@@ -39,25 +66,288 @@ public abstract class DragItemAdapter<T, VH extends DragItemAdapter.ViewHolder>
     private RecyclerView recyclerView;
     @Nullable
     private Animation itemAnimation;
+    private boolean mItemIdIndexEnabled;
+    private LongIntMap mItemIdIndex;
+    private int mItemIdIndexVersion;
+    private IdentityHashMap<T, Integer> mItemPositions;
+    private boolean mItemPositionsDirty = true;
+    private UpdateBatch mUpdateBatch = new UpdateBatch();
+    private int mTransactionDepth;
+    private int mTransactionAnimationThreshold = Integer.MAX_VALUE;
+    private Executor mDiffExecutor = AsyncTask.THREAD_POOL_EXECUTOR;
+    private Handler mMainHandler;
+    private int mListVersion;
+    private int mSubmitGeneration;
+    private List<T> mPendingSubmitList;
+    private OrderKeyCallback<T> mOrderKeyCallback;
     protected List<T> mItemList;
 
+    public DragItemAdapter() {
+        registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                // The list may have been changed directly, the indexes must check it again before trusting a miss
+                mListVersion++;
+            }
+        });
+    }
+
+    /**
+     * Sets the item list. Pass a {@link PagedItemList} to only keep the visible part of a very large list in memory.
+     */
     public void setItemList(List<T> itemList) {
+        // Any list submitted before this call is outdated
+        mSubmitGeneration++;
+        mPendingSubmitList = null;
+        replaceItemList(itemList);
+        if (isInTransaction()) {
+            mUpdateBatch.addDataSetChanged();
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    private void replaceItemList(List<T> itemList) {
+        if (mItemList instanceof PagedItemList && mItemList != itemList) {
+            ((PagedItemList) mItemList).setAdapter(null);
+        }
+        if (itemList instanceof PagedItemList) {
+            ((PagedItemList) itemList).setAdapter(this);
+        }
+        mItemList = itemList;
+        mItemIdIndex = null;
+        mItemPositionsDirty = true;
+        mListVersion++;
+    }
+
+    /**
+     * Sets a new item list and animates the changes. The difference between the current and the new list is calculated
+     * on the diff executor using the item ids and {@link #areItemContentsTheSame}, and the changes are then dispatched on
+     * the main thread as moves, inserts, removals and changes. If a drag is in progress the new list is applied when the
+     * item has been dropped. The new list must not be changed after it has been submitted. The ids of the new items are
+     * read with {@link #getItemId(int)} like the ids of the current items, or with {@link #getUniqueItemId(Object)} if
+     * the adapter overrides it.
+     *
+     * @param itemList The new item list.
+     */
+    public void submitList(final List<T> itemList) {
+        final int generation = ++mSubmitGeneration;
+        if (isDragging()) {
+            mPendingSubmitList = itemList;
+            return;
+        }
+        mPendingSubmitList = null;
+
+        if (mItemList == null || itemList == null) {
+            setItemList(itemList);
+            return;
+        }
+
+        final List<T> oldList = new ArrayList<>(mItemList);
+        final long[] oldIds = new long[oldList.size()];
+        for (int i = 0; i < oldIds.length; i++) {
+            oldIds[i] = getItemId(i);
+        }
+        final long[] newIds = getSubmittedItemIds(itemList);
+        final int listVersion = mListVersion;
+        if (mMainHandler == null) {
+            mMainHandler = new Handler(Looper.getMainLooper());
+        }
+
+        mDiffExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return oldIds.length;
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return newIds.length;
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                        return oldIds[oldItemPosition] == newIds[newItemPosition];
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                        return areItemContentsTheSame(oldList.get(oldItemPosition), itemList.get(newItemPosition));
+                    }
+                });
+
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mSubmitGeneration) {
+                            // A newer list has been submitted or set
+                            return;
+                        }
+
+                        if (listVersion != mListVersion || isDragging()) {
+                            // The list has changed since the diff was calculated, calculate it again
+                            submitList(itemList);
+                            return;
+                        }
+
+                        replaceItemList(itemList);
+                        if (isInTransaction()) {
+                            mUpdateBatch.addDataSetChanged();
+                        } else {
+                            result.dispatchUpdatesTo(DragItemAdapter.this);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Called on the diff executor from {@link #submitList} to check if an item that is in both the old and the new list
+     * has changed its content. By default the items are compared with equals.
+     */
+    protected boolean areItemContentsTheSame(T oldItem, T newItem) {
+        return oldItem == null ? newItem == null : oldItem.equals(newItem);
+    }
+
+    /**
+     * @param executor The executor used to calculate the difference between lists in {@link #submitList}. Default is
+     *                 {@link AsyncTask#THREAD_POOL_EXECUTOR}.
+     */
+    public void setDiffExecutor(Executor executor) {
+        mDiffExecutor = executor;
+    }
+
+    /**
+     * Called from {@link #submitList} to get the ids of the items in the new list, which are not in the adapter yet. Must
+     * return the same id as {@link #getItemId(int)} returns for the item once it is in the adapter. Overriding this is
+     * optional, by default {@link RecyclerView#NO_ID} is returned and the ids are read with getItemId instead.
+     */
+    protected long getUniqueItemId(T item) {
+        return RecyclerView.NO_ID;
+    }
+
+    private long[] getSubmittedItemIds(List<T> itemList) {
+        long[] ids = new long[itemList.size()];
+        boolean hasUniqueItemIds = true;
+        for (int i = 0; i < ids.length && hasUniqueItemIds; i++) {
+            ids[i] = getUniqueItemId(itemList.get(i));
+            hasUniqueItemIds = ids[i] != RecyclerView.NO_ID;
+        }
+        if (hasUniqueItemIds) {
+            return ids;
+        }
+
+        // getItemId reads from mItemList, point it to the new list only while the ids are read
+        List<T> currentList = mItemList;
         mItemList = itemList;
-        notifyDataSetChanged();
+        try {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = getItemId(i);
+            }
+        } finally {
+            mItemList = currentList;
+        }
+        return ids;
+    }
+
+    /**
+     * @return A version that changes whenever the item list changes.
+     */
+    int getListVersion() {
+        return mListVersion;
+    }
+
+    private boolean isDragging() {
+        return mDragItemId != RecyclerView.NO_ID;
     }
 
     public List<T> getItemList() {
         return mItemList;
     }
 
+    /**
+     * Looks up the position of an item by reference. The index used for the lookup is built on the first lookup after
+     * a new list has been set and is then kept up to date by the item methods of this adapter, so changing the list
+     * costs nothing extra when this method is not used.
+     *
+     * @return The first position of the item or {@link RecyclerView#NO_POSITION} if it is not in the list.
+     */
     public int getPositionForItem(T item) {
+        if (item == null) {
+            // Null rows are not indexed, a paged list can have thousands of them
+            return mItemList == null ? RecyclerView.NO_POSITION : mItemList.indexOf(null);
+        }
+        if (mItemPositions == null || mItemPositionsDirty) {
+            rebuildItemPositions();
+        }
+        Integer pos = mItemPositions.get(item);
+        if (pos == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        if (pos < getItemCount() && mItemList.get(pos) == item) {
+            return pos;
+        }
+
+        // The list has been changed without the adapter knowing about it, rebuild and try again
+        rebuildItemPositions();
+        pos = mItemPositions.get(item);
+        return pos != null ? pos : RecyclerView.NO_POSITION;
+    }
+
+    private void rebuildItemPositions() {
         int count = getItemCount();
+        if (mItemPositions == null) {
+            mItemPositions = new IdentityHashMap<>(count);
+        } else {
+            mItemPositions.clear();
+        }
         for (int i = 0; i < count; i++) {
-            if (mItemList.get(i) == item) {
-                return i;
+            T item = mItemList.get(i);
+            // Keep the first position of items that are in the list more than once
+            if (item != null && !mItemPositions.containsKey(item)) {
+                mItemPositions.put(item, i);
+            }
+        }
+        mItemPositionsDirty = false;
+    }
+
+    /**
+     * Removes the items that have their first position in the range from the position index. Called before the range is
+     * changed, {@link #updateItemPositions} adds the items back when the change is done. Every item that leaves the range
+     * must either leave the list or have all its other positions after the range inside it too.
+     */
+    private void removeItemPositions(int fromPos, int toPos) {
+        if (mItemPositions == null || mItemPositionsDirty) {
+            return;
+        }
+        for (int i = fromPos; i <= toPos; i++) {
+            T item = mItemList.get(i);
+            Integer pos = mItemPositions.get(item);
+            if (pos != null && pos == i) {
+                mItemPositions.remove(item);
+            }
+        }
+    }
+
+    private void updateItemPositions(int fromPos, int toPos) {
+        if (mItemPositions == null || mItemPositionsDirty) {
+            return;
+        }
+        for (int i = fromPos; i <= toPos; i++) {
+            T item = mItemList.get(i);
+            if (item == null) {
+                continue;
+            }
+            // An item that is in the list more than once keeps its first position
+            Integer pos = mItemPositions.get(item);
+            if (pos == null || pos > i) {
+                mItemPositions.put(item, i);
             }
         }
-        return RecyclerView.NO_POSITION;
     }
 
     @Override
@@ -103,12 +393,66 @@ public abstract class DragItemAdapter<T, VH extends DragItemAdapter.ViewHolder>
         view.startAnimation(itemAnimation);
     }
 
+    /**
+     * Starts a transaction. Until {@link #commitTransaction} is called the item methods of this adapter change the
+     * item list directly but the notifications are queued, and removed items do not animate their height. Commit the
+     * transaction before returning to the main loop so the list is not laid out with a changed item list. Transactions
+     * can be nested, the changes are dispatched when the outermost transaction is committed.
+     */
+    public void beginTransaction() {
+        mTransactionDepth++;
+    }
+
+    /**
+     * Commits a transaction started with {@link #beginTransaction}. The queued changes are merged into as few notify
+     * calls as possible, so the list is laid out once for the whole transaction.
+     */
+    public void commitTransaction() {
+        if (mTransactionDepth == 0) {
+            return;
+        }
+
+        mTransactionDepth--;
+        if (mTransactionDepth == 0) {
+            mUpdateBatch.dispatchTo(this, mTransactionAnimationThreshold);
+        }
+    }
+
+    public boolean isInTransaction() {
+        return mTransactionDepth > 0;
+    }
+
+    /**
+     * @param maxAnimatedItems If a transaction changes more items than this, the list is refreshed without item
+     *                         animations when the transaction is committed. By default changes are always animated.
+     */
+    public void setTransactionAnimationThreshold(int maxAnimatedItems) {
+        mTransactionAnimationThreshold = maxAnimatedItems;
+    }
+
     public Object removeItem(int pos) {
         if (mItemList != null && mItemList.size() > pos && pos >= 0) {
-            View viewToRemove = recyclerView.findViewHolderForAdapterPosition(pos).itemView;
-            Object item = mItemList.remove(pos);
-            notifyItemRemoved(pos);
-            animateHeight((View) viewToRemove.getParent(), viewToRemove.getMeasuredHeight());
+            RecyclerView.ViewHolder holderToRemove = null;
+            if (!isInTransaction() && recyclerView != null) {
+                holderToRemove = recyclerView.findViewHolderForAdapterPosition(pos);
+            }
+            if (mItemIdIndex != null) {
+                mItemIdIndex.remove(getItemId(pos));
+            }
+            removeItemPositions(pos, mItemList.size() - 1);
+            T item = mItemList.remove(pos);
+            mListVersion++;
+            updateItemIndexes(pos, mItemList.size() - 1);
+            if (isInTransaction()) {
+                mUpdateBatch.addRemoved(pos);
+            } else {
+                notifyItemRemoved(pos);
+            }
+            // The holder is null if the item is not visible, then there is nothing to animate
+            if (holderToRemove != null) {
+                View viewToRemove = holderToRemove.itemView;
+                animateHeight((View) viewToRemove.getParent(), viewToRemove.getMeasuredHeight());
+            }
             return item;
         }
         return null;
@@ -120,27 +464,188 @@ public abstract class DragItemAdapter<T, VH extends DragItemAdapter.ViewHolder>
                 itemAnimation.cancel();
                 itemAnimation = null;
             }
+            removeItemPositions(pos, mItemList.size() - 1);
             mItemList.add(pos, item);
-            notifyItemInserted(pos);
+            mListVersion++;
+            updateItemIndexes(pos, mItemList.size() - 1);
+            if (isInTransaction()) {
+                mUpdateBatch.addInserted(pos);
+            } else {
+                notifyItemInserted(pos);
+            }
         }
     }
 
     public void changeItemPosition(int fromPos, int toPos) {
         if (mItemList != null && mItemList.size() > fromPos && mItemList.size() > toPos) {
+            removeItemPositions(Math.min(fromPos, toPos), Math.max(fromPos, toPos));
             T item = mItemList.remove(fromPos);
             mItemList.add(toPos, item);
-            notifyItemMoved(fromPos, toPos);
+            mListVersion++;
+            updateItemIndexes(Math.min(fromPos, toPos), Math.max(fromPos, toPos));
+            if (isInTransaction()) {
+                mUpdateBatch.addMoved(fromPos, toPos);
+            } else {
+                notifyItemMoved(fromPos, toPos);
+            }
         }
     }
 
     public void swapItems(int pos1, int pos2) {
         if (mItemList != null && mItemList.size() > pos1 && mItemList.size() > pos2) {
+            // The items between can have other references to the swapped items, so their positions are updated too
+            removeItemPositions(Math.min(pos1, pos2), Math.max(pos1, pos2));
             Collections.swap(mItemList, pos1, pos2);
-            notifyDataSetChanged();
+            mListVersion++;
+            updateItemIdIndex(pos1, pos1);
+            updateItemIdIndex(pos2, pos2);
+            updateItemPositions(Math.min(pos1, pos2), Math.max(pos1, pos2));
+            if (isInTransaction()) {
+                mUpdateBatch.addDataSetChanged();
+            } else {
+                notifyDataSetChanged();
+            }
+        }
+    }
+
+    /**
+     * Keeps an index from item id to position so that {@link #getPositionForItemId} runs in constant time instead of
+     * scanning the list. The index is kept up to date by the item methods of this adapter, if the item list is changed
+     * directly then notifyDataSetChanged or {@link #setItemList} should be called.
+     *
+     * @param enabled True if an id to position index should be kept, false otherwise.
+     */
+    public void setItemIdIndexEnabled(boolean enabled) {
+        mItemIdIndexEnabled = enabled;
+        mItemIdIndex = null;
+    }
+
+    public boolean isItemIdIndexEnabled() {
+        return mItemIdIndexEnabled;
+    }
+
+    private void rebuildItemIdIndex() {
+        int count = getItemCount();
+        mItemIdIndex = new LongIntMap(count);
+        for (int i = 0; i < count; i++) {
+            mItemIdIndex.put(getItemId(i), i);
+        }
+        mItemIdIndexVersion = mListVersion;
+    }
+
+    private void updateItemIndexes(int fromPos, int toPos) {
+        updateItemIdIndex(fromPos, toPos);
+        updateItemPositions(fromPos, toPos);
+    }
+
+    private void updateItemIdIndex(int fromPos, int toPos) {
+        if (mItemIdIndex != null) {
+            for (int i = fromPos; i <= toPos; i++) {
+                mItemIdIndex.put(getItemId(i), i);
+            }
+            mItemIdIndexVersion = mListVersion;
+        }
+    }
+
+    /**
+     * Enables order key mode. In this mode every item has an order key generated by {@link OrderKeys} and the item list
+     * is sorted by the keys. When an item is dropped a new key between the keys of its new neighbours is generated, so
+     * persisting a move is a single write instead of rewriting the positions of all items in between. When keys grow too
+     * long all keys of the list are rebalanced.
+     *
+     * @param callback The callback used to read and store keys or null to disable order key mode.
+     */
+    public void setOrderKeyCallback(OrderKeyCallback<T> callback) {
+        mOrderKeyCallback = callback;
+    }
+
+    /**
+     * Generates a new order key for the item at the position if its key is not between the keys of its neighbours.
+     * Called automatically when an item is dropped, call it after adding or moving items from code. In a
+     * {@link PagedItemList} nothing is done if the item or one of its neighbours is not loaded, and keys are not
+     * rebalanced until every row is loaded, see {@link #rebalanceOrderKeys}.
+     *
+     * @param position The position of the item.
+     * @return The new key of the item or null if the key did not change or order key mode is disabled.
+     */
+    public String updateOrderKey(int position) {
+        if (mOrderKeyCallback == null || position < 0 || position >= getItemCount()) {
+            return null;
         }
+
+        T item = mItemList.get(position);
+        if (item == null || (position > 0 && mItemList.get(position - 1) == null)
+                || (position < getItemCount() - 1 && mItemList.get(position + 1) == null)) {
+            return null;
+        }
+        String key = mOrderKeyCallback.getOrderKey(item);
+        String before = position > 0 ? mOrderKeyCallback.getOrderKey(mItemList.get(position - 1)) : null;
+        String after = position < getItemCount() - 1 ? mOrderKeyCallback.getOrderKey(mItemList.get(position + 1)) : null;
+        if ((position > 0 && before == null) || (position < getItemCount() - 1 && after == null)
+                || (before != null && after != null && before.compareTo(after) >= 0)) {
+            // The neighbours are missing keys or are out of order, only a rebalance can fix that
+            if (!canRebalanceOrderKeys()) {
+                return null;
+            }
+            rebalanceOrderKeys();
+            return mOrderKeyCallback.getOrderKey(item);
+        }
+        if (key != null && (before == null || before.compareTo(key) < 0) && (after == null || key.compareTo(after) < 0)) {
+            return null;
+        }
+
+        String newKey = OrderKeys.between(before, after);
+        // A long key still sorts right, so it is used until all rows can be rebalanced
+        if (newKey.length() > MAX_ORDER_KEY_LENGTH && canRebalanceOrderKeys()) {
+            rebalanceOrderKeys();
+            return mOrderKeyCallback.getOrderKey(item);
+        }
+        mOrderKeyCallback.onOrderKeyChanged(item, newKey);
+        return newKey;
+    }
+
+    /**
+     * Assigns evenly spaced order keys to all items in the current order. Only items whose key changes are reported to
+     * the {@link OrderKeyCallback}. Nothing is done for a {@link PagedItemList} until every row is loaded, the keys of
+     * rows that are not loaded can't be changed and mixing them with new keys would break the order.
+     */
+    public void rebalanceOrderKeys() {
+        if (mOrderKeyCallback == null || !canRebalanceOrderKeys()) {
+            return;
+        }
+
+        String[] keys = OrderKeys.evenlySpaced(getItemCount());
+        for (int i = 0; i < keys.length; i++) {
+            T item = mItemList.get(i);
+            if (!keys[i].equals(mOrderKeyCallback.getOrderKey(item))) {
+                mOrderKeyCallback.onOrderKeyChanged(item, keys[i]);
+            }
+        }
+    }
+
+    private boolean canRebalanceOrderKeys() {
+        return !(mItemList instanceof PagedItemList) || ((PagedItemList) mItemList).isFullyLoaded();
     }
 
     public int getPositionForItemId(long id) {
+        if (mItemIdIndexEnabled) {
+            if (mItemIdIndex == null || mItemIdIndex.size() != getItemCount()) {
+                rebuildItemIdIndex();
+            }
+            int pos = mItemIdIndex.get(id, RecyclerView.NO_POSITION);
+            if (pos == RecyclerView.NO_POSITION) {
+                if (mItemIdIndexVersion == mListVersion) {
+                    return pos;
+                }
+            } else if (pos < getItemCount() && getItemId(pos) == id) {
+                return pos;
+            }
+
+            // The list has been changed without the index knowing about it, rebuild and try again
+            rebuildItemIdIndex();
+            return mItemIdIndex.get(id, RecyclerView.NO_POSITION);
+        }
+
         int count = getItemCount();
         for (int i = 0; i < count; i++) {
             if (id == getItemId(i)) {
@@ -160,7 +665,56 @@ public abstract class DragItemAdapter<T, VH extends DragItemAdapter.ViewHolder>
         long itemId = getItemId(position);
         holder.mItemId = itemId;
         holder.itemView.setVisibility(mDragItemId == itemId ? View.INVISIBLE : View.VISIBLE);
-        holder.setDragStartCallback(mDragStartCallback);
+        if (mItemList instanceof PagedItemList) {
+            PagedItemList pagedList = (PagedItemList) mItemList;
+            pagedList.loadAround(position);
+            // Placeholders can not be dragged
+            holder.setDragStartCallback(pagedList.isLoaded(position) ? mDragStartCallback : null);
+        } else {
+            holder.setDragStartCallback(mDragStartCallback);
+        }
+    }
+
+    /**
+     * Called by {@link PagedItemList} before rows are loaded or replaced with placeholders, which changes their ids.
+     */
+    void onPagedItemRangeChanging(int positionStart, int itemCount) {
+        if (mItemIdIndex != null) {
+            for (int i = positionStart; i < positionStart + itemCount; i++) {
+                mItemIdIndex.remove(getItemId(i));
+            }
+        }
+        removeItemPositions(positionStart, positionStart + itemCount - 1);
+    }
+
+    /**
+     * Called by {@link PagedItemList} when rows have been loaded or replaced with placeholders. Only the ids of the
+     * changed rows are updated in the id index so loading a page doesn't cost a walk over the whole list.
+     */
+    void onPagedItemRangeChanged(int positionStart, int itemCount) {
+        mListVersion++;
+        updateItemIndexes(positionStart, positionStart + itemCount - 1);
+        if (isInTransaction()) {
+            mUpdateBatch.addDataSetChanged();
+        } else {
+            notifyItemRangeChanged(positionStart, itemCount);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(VH holder, int position, List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            super.onBindViewHolder(holder, position, payloads);
+            return;
+        }
+
+        for (Object payload : payloads) {
+            if (payload != DRAG_STATE) {
+                super.onBindViewHolder(holder, position, payloads);
+                return;
+            }
+        }
+        holder.itemView.setVisibility(mDragItemId == holder.mItemId ? View.INVISIBLE : View.VISIBLE);
     }
 
     @Override
@@ -175,6 +729,13 @@ public abstract class DragItemAdapter<T, VH extends DragItemAdapter.ViewHolder>
 
     void setDragItemId(long dragItemId) {
         mDragItemId = dragItemId;
+        if (mItemList instanceof PagedItemList) {
+            ((PagedItemList) mItemList).setEvictionPaused(mDragItemId != RecyclerView.NO_ID);
+        }
+        if (mDragItemId == RecyclerView.NO_ID && mPendingSubmitList != null) {
+            // A list was submitted during the drag, apply it now that the item has been dropped
+            submitList(mPendingSubmitList);
+        }
     }
 
     void setDropTargetId(long dropTargetId) {
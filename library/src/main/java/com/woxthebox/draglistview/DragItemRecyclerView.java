@@ -22,14 +22,15 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.NonNull;
-import android.support.annotation.Size;
-import android.support.v4.util.Pair;
+import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
+import android.view.ViewGroup;
 
 public class DragItemRecyclerView extends RecyclerView implements AutoScroller.AutoScrollListener {
 
@@ -51,16 +52,57 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         DRAG_STARTED, DRAGGING, DRAG_ENDED
     }
 
+    // Same as the default of RecyclerView
+    private static final int DEFAULT_ITEM_VIEW_CACHE_SIZE = 2;
+
     private View mOuterParent;
     private AutoScroller mAutoScroller;
     private DragItemListener mListener;
     private DragItemCallback mDragCallback;
     private DragState mDragState = DragState.DRAG_ENDED;
+    private final int[] mLocationInWindow = new int[2];
+    private int mStartOffsetX;
+    private int mStartOffsetY;
+    private boolean mStartOffsetValid;
+    private final OnLayoutChangeListener mOuterParentLayoutListener = new OnLayoutChangeListener() {
+        @Override
+        public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
+            mStartOffsetValid = false;
+        }
+    };
     private DragItemAdapter mAdapter;
     private DragItem mDragItem;
     private Drawable mDropTargetBackgroundDrawable;
     private Drawable mDropTargetForegroundDrawable;
     private long mDragItemId = NO_ID;
+    private ViewHolder mDropTargetHolder;
+    private ViewHolder mDropHolder;
+    private final Runnable mDropRunnable = new Runnable() {
+        @Override
+        public void run() {
+            // Sometimes the holder will be null if a holder has not yet been set for the position
+            ViewHolder holder = findViewHolderForAdapterPosition(mDragItemPosition);
+            if (holder != null) {
+                if (getItemAnimator() != null) {
+                    getItemAnimator().endAnimation(holder);
+                }
+                mDropHolder = holder;
+                mDragItem.endDrag(holder.itemView, mDropAnimationListener);
+            } else {
+                onDragItemAnimationEnd();
+            }
+        }
+    };
+    private final Animator.AnimatorListener mDropAnimationListener = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            if (mDropHolder != null) {
+                mDropHolder.itemView.setAlpha(1);
+                mDropHolder = null;
+            }
+            onDragItemAnimationEnd();
+        }
+    };
     private boolean mHoldChangePosition;
     private int mDragItemPosition;
     private int mTouchSlop;
@@ -71,6 +113,24 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
     private boolean mScrollingEnabled = true;
     private boolean mDisableReorderWhenDragging;
     private boolean mDragEnabled = true;
+    private ViewGroup mDetachedParent;
+    private int mDetachedIndex;
+    private boolean mGapDragEnabled;
+    private boolean mGapDragActive;
+    private int mGapStartPosition = NO_POSITION;
+    private int mGapSize;
+    private ItemAnimator mGapItemAnimator;
+    private int mReorderHysteresis;
+    private boolean mDragUpdateScheduled;
+    private final Runnable mDragUpdateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mDragUpdateScheduled = false;
+            if (isDragging()) {
+                updateDragPositionAndScroll();
+            }
+        }
+    };
 
     public DragItemRecyclerView(Context context) {
         super(context);
@@ -109,13 +169,28 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
                     return;
                 }
 
-                for (int i = 0; i < parent.getChildCount(); i++) {
-                    View item = parent.getChildAt(i);
-                    int pos = getChildAdapterPosition(item);
-                    if (pos != NO_POSITION && mAdapter.getItemId(pos) == mAdapter.getDropTargetId()) {
-                        drawable.setBounds(item.getLeft(), item.getTop(), item.getRight(), item.getBottom());
-                        drawable.draw(c);
-                    }
+                ViewHolder holder = getDropTargetHolder();
+                if (holder != null) {
+                    View item = holder.itemView;
+                    drawable.setBounds(item.getLeft(), item.getTop(), item.getRight(), item.getBottom());
+                    drawable.draw(c);
+                }
+            }
+        });
+
+        addOnChildAttachStateChangeListener(new OnChildAttachStateChangeListener() {
+            @Override
+            public void onChildViewAttachedToWindow(View view) {
+                if (mGapDragActive) {
+                    setGapTranslation(view, getGapOffset(getChildLayoutPosition(view), mDragItemPosition));
+                }
+            }
+
+            @Override
+            public void onChildViewDetachedFromWindow(View view) {
+                if (mGapDragActive) {
+                    ViewCompat.animate(view).cancel();
+                    setGapTranslation(view, 0);
                 }
             }
         });
@@ -162,10 +237,22 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         mScrollingEnabled = scrollingEnabled;
     }
 
+    void setAutoScrollSpeedProfile(float maxEdgeSpeedFactor, float maxHoldSpeedFactor, int holdRampDuration) {
+        mAutoScroller.setSpeedProfile(maxEdgeSpeedFactor, maxHoldSpeedFactor, holdRampDuration);
+    }
+
     void setDisableReorderWhenDragging(boolean disableReorder) {
         mDisableReorderWhenDragging = disableReorder;
     }
 
+    void setGapDragEnabled(boolean enabled) {
+        mGapDragEnabled = enabled;
+    }
+
+    void setDragReorderHysteresis(int hysteresis) {
+        mReorderHysteresis = hysteresis;
+    }
+
     public void setDropTargetDrawables(Drawable backgroundDrawable, Drawable foregroundDrawable) {
         mDropTargetBackgroundDrawable = backgroundDrawable;
         mDropTargetForegroundDrawable = foregroundDrawable;
@@ -192,13 +279,63 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
     }
 
     void setOuterParent(@NonNull View outerParent) {
+        if (mOuterParent != null) {
+            mOuterParent.removeOnLayoutChangeListener(mOuterParentLayoutListener);
+        }
         mOuterParent = outerParent;
+        mOuterParent.addOnLayoutChangeListener(mOuterParentLayoutListener);
+        mStartOffsetValid = false;
     }
 
     View getOuterParent() {
         return mOuterParent;
     }
 
+    boolean isAttachedToColumn() {
+        return mDetachedParent == null;
+    }
+
+    /**
+     * Removes this list from its column layout. The column keeps its size so the board geometry does not change, and
+     * if the layout manager recycles children on detach the item views are returned to the view pool.
+     *
+     * @param releaseViews True to drop the recycled item views, used when the view pool is not shared with other lists
+     *                     and would otherwise keep views of every detached column alive.
+     */
+    void detachFromColumn(boolean releaseViews) {
+        ViewGroup parent = (ViewGroup) getParent();
+        if (parent == null || mDetachedParent != null) {
+            return;
+        }
+
+        mDetachedIndex = parent.indexOfChild(this);
+        parent.removeView(this);
+        mDetachedParent = parent;
+        if (releaseViews) {
+            // Setting the cache size moves the cached views to the pool so they are cleared with it
+            setItemViewCacheSize(0);
+            getRecycledViewPool().clear();
+            setItemViewCacheSize(DEFAULT_ITEM_VIEW_CACHE_SIZE);
+        }
+    }
+
+    void attachToColumn() {
+        if (mDetachedParent == null) {
+            return;
+        }
+
+        mDetachedParent.addView(this, Math.min(mDetachedIndex, mDetachedParent.getChildCount()));
+        mDetachedParent = null;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        if (changed) {
+            mStartOffsetValid = false;
+        }
+    }
+
     @Override
     public void setClipToPadding(boolean clipToPadding) {
         super.setClipToPadding(clipToPadding);
@@ -248,6 +385,13 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
             return getChildAt(0);
         }
 
+        // Children of a linear layout are ordered along the main axis, unless items are animating in or out
+        LayoutManager layoutManager = getLayoutManager();
+        if (count > 0 && layoutManager instanceof LinearLayoutManager && !(layoutManager instanceof GridLayoutManager)
+                && !isAnimating()) {
+            return findChildViewOrdered(x, y, ((LinearLayoutManager) layoutManager).getOrientation() == LinearLayoutManager.VERTICAL);
+        }
+
         for (int i = count - 1; i >= 0; i--) {
             final View child = getChildAt(i);
             MarginLayoutParams params = (MarginLayoutParams) child.getLayoutParams();
@@ -260,6 +404,38 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         return null;
     }
 
+    private View findChildViewOrdered(float x, float y, boolean vertical) {
+        int low = 0;
+        int high = getChildCount() - 1;
+        boolean reversed = vertical ? getChildAt(0).getTop() > getChildAt(high).getTop() : getChildAt(0).getLeft() > getChildAt(high).getLeft();
+        float pos = vertical ? y : x;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final View child = getChildAt(mid);
+            MarginLayoutParams params = (MarginLayoutParams) child.getLayoutParams();
+            int start = vertical ? child.getTop() - params.topMargin : child.getLeft() - params.leftMargin;
+            int end = vertical ? child.getBottom() + params.bottomMargin : child.getRight() + params.rightMargin;
+            if (pos < start) {
+                if (reversed) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            } else if (pos > end) {
+                if (reversed) {
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
+            } else {
+                boolean inCrossAxis = vertical ? x >= child.getLeft() - params.leftMargin && x <= child.getRight() + params.rightMargin
+                        : y >= child.getTop() - params.topMargin && y <= child.getBottom() + params.bottomMargin;
+                return inCrossAxis ? child : null;
+            }
+        }
+        return null;
+    }
+
     private boolean shouldChangeItemPosition(int newPos) {
         // Check if drag position is changed and valid and that we are not in a hold position state
         if (mHoldChangePosition || mDragItemPosition == NO_POSITION || mDragItemPosition == newPos) {
@@ -277,18 +453,23 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
     }
 
     private void updateDragPositionAndScroll() {
-        Pair<Integer, Integer> offset = getStartOffset();
-        View view = findChildView(mDragItem.getX() - offset.first, mDragItem.getY() - offset.second);
+        updateStartOffset();
+        float x = mDragItem.getX() - mStartOffsetX;
+        float y = mDragItem.getY() - mStartOffsetY;
+        View view = findChildView(x, y);
         int newPos = getChildLayoutPosition(view);
         if (newPos == NO_POSITION || view == null) {
             return;
         }
+        newPos = applyReorderHysteresis(view, newPos, x, y);
 
         LinearLayoutManager layoutManager = (LinearLayoutManager) getLayoutManager();
         if (shouldChangeItemPosition(newPos)) {
             if (mDisableReorderWhenDragging) {
-                mAdapter.setDropTargetId(mAdapter.getItemId(newPos));
-                mAdapter.notifyDataSetChanged();
+                // Use the holder of the checked position, the hysteresis may have moved it from the hovered view
+                setDropTarget(findViewHolderForLayoutPosition(newPos));
+            } else if (mGapDragActive) {
+                moveGap(newPos);
             } else {
                 int pos = layoutManager.findFirstVisibleItemPosition();
                 View posView = layoutManager.findViewByPosition(pos);
@@ -332,26 +513,221 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
             }
         }
 
-        // Start auto scroll if at the edge
+        // Start auto scroll if at the edge, the edge is half the size of the item under the drag item
         if (layoutManager.getOrientation() == LinearLayoutManager.VERTICAL) {
-            if (mDragItem.getY() > getHeight() - view.getHeight() / 2 && !lastItemReached) {
-                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.UP);
-            } else if (mDragItem.getY() < view.getHeight() / 2 && !firstItemReached) {
-                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.DOWN);
+            float edge = view.getHeight() / 2;
+            if (mDragItem.getY() > getHeight() - edge && !lastItemReached) {
+                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.UP, getEdgeDepth(mDragItem.getY() - (getHeight() - edge), edge));
+            } else if (mDragItem.getY() < edge && !firstItemReached) {
+                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.DOWN, getEdgeDepth(edge - mDragItem.getY(), edge));
             } else {
                 mAutoScroller.stopAutoScroll();
             }
         } else {
-            if (mDragItem.getX() > getWidth() - view.getWidth() / 2 && !lastItemReached) {
-                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.LEFT);
-            } else if (mDragItem.getX() < view.getWidth() / 2 && !firstItemReached) {
-                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.RIGHT);
+            float edge = view.getWidth() / 2;
+            if (mDragItem.getX() > getWidth() - edge && !lastItemReached) {
+                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.LEFT, getEdgeDepth(mDragItem.getX() - (getWidth() - edge), edge));
+            } else if (mDragItem.getX() < edge && !firstItemReached) {
+                mAutoScroller.startAutoScroll(AutoScroller.ScrollDirection.RIGHT, getEdgeDepth(edge - mDragItem.getX(), edge));
             } else {
                 mAutoScroller.stopAutoScroll();
             }
         }
     }
 
+    /**
+     * Only lets the drag move to a new position when the drag position is past the middle of the item at the new
+     * position plus the hysteresis. Otherwise the drag moves one step less, which stops items from flipping back and
+     * forth when the drag is held on the border between two items.
+     */
+    private int applyReorderHysteresis(View view, int newPos, float x, float y) {
+        if (mReorderHysteresis <= 0 || mDragItemPosition == NO_POSITION || newPos == mDragItemPosition) {
+            return newPos;
+        }
+
+        LinearLayoutManager layoutManager = (LinearLayoutManager) getLayoutManager();
+        boolean forward = (newPos > mDragItemPosition) != layoutManager.getReverseLayout();
+        float pos;
+        float center;
+        if (isVertical()) {
+            pos = y;
+            center = (view.getTop() + view.getBottom()) / 2f;
+        } else {
+            pos = x;
+            center = (view.getLeft() + view.getRight()) / 2f;
+        }
+
+        boolean passed = forward ? pos > center + mReorderHysteresis : pos < center - mReorderHysteresis;
+        if (passed) {
+            return newPos;
+        }
+        return newPos > mDragItemPosition ? newPos - 1 : newPos + 1;
+    }
+
+    private void scheduleDragUpdate() {
+        if (!mDragUpdateScheduled) {
+            mDragUpdateScheduled = true;
+            ViewCompat.postOnAnimation(this, mDragUpdateRunnable);
+        }
+    }
+
+    private void cancelDragUpdate() {
+        if (mDragUpdateScheduled) {
+            removeCallbacks(mDragUpdateRunnable);
+            mDragUpdateScheduled = false;
+        }
+    }
+
+    /**
+     * Changes the highlighted drop target in swap mode. Only the rows of the old and new target are redrawn, the
+     * adapter is not notified since the highlight is drawn by the item decoration.
+     */
+    private void setDropTarget(ViewHolder holder) {
+        long dropTargetId = holder != null ? holder.getItemId() : NO_ID;
+        if (dropTargetId == mAdapter.getDropTargetId() && holder == mDropTargetHolder) {
+            return;
+        }
+
+        invalidateDropTarget();
+        mAdapter.setDropTargetId(dropTargetId);
+        mDropTargetHolder = holder;
+        invalidateDropTarget();
+    }
+
+    /**
+     * @return The holder of the current drop target. The holder is kept between frames and is only looked up again if
+     * it has been recycled or rebound to another item.
+     */
+    private ViewHolder getDropTargetHolder() {
+        long dropTargetId = mAdapter.getDropTargetId();
+        if (dropTargetId == NO_ID) {
+            return null;
+        }
+        if (mDropTargetHolder == null || mDropTargetHolder.getItemId() != dropTargetId || mDropTargetHolder.itemView.getParent() != this) {
+            mDropTargetHolder = findViewHolderForItemId(dropTargetId);
+        }
+        return mDropTargetHolder;
+    }
+
+    private void invalidateDropTarget() {
+        ViewHolder holder = getDropTargetHolder();
+        if (holder != null) {
+            View item = holder.itemView;
+            invalidate(item.getLeft(), item.getTop(), item.getRight(), item.getBottom());
+        }
+    }
+
+    private static float getEdgeDepth(float distanceIntoEdge, float edgeSize) {
+        return edgeSize > 0 ? distanceIntoEdge / edgeSize : 1;
+    }
+
+    private void startGapDrag(int startPosition, int gapSize) {
+        mGapDragActive = mGapDragEnabled && !mDisableReorderWhenDragging;
+        mGapStartPosition = startPosition;
+        mGapSize = gapSize;
+    }
+
+    private boolean isVertical() {
+        return ((LinearLayoutManager) getLayoutManager()).getOrientation() == LinearLayoutManager.VERTICAL;
+    }
+
+    /**
+     * In gap drag mode the adapter is not changed while dragging. Instead the items between the start position and
+     * the gap are translated by the size of the dragged item, which needs no layout pass.
+     */
+    private void moveGap(int newPos) {
+        int oldPos = mDragItemPosition;
+        mDragItemPosition = newPos;
+        long duration = getItemAnimator() != null ? getItemAnimator().getMoveDuration() : 0;
+        boolean vertical = isVertical();
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            int pos = getChildLayoutPosition(child);
+            int offset = getGapOffset(pos, newPos);
+            if (offset != getGapOffset(pos, oldPos)) {
+                if (vertical) {
+                    ViewCompat.animate(child).translationY(offset).setDuration(duration).start();
+                } else {
+                    ViewCompat.animate(child).translationX(offset).setDuration(duration).start();
+                }
+            }
+        }
+    }
+
+    private int getGapOffset(int pos, int gapPos) {
+        if (pos == NO_POSITION || pos == mGapStartPosition) {
+            return 0;
+        }
+
+        int offset = 0;
+        if (mGapStartPosition < gapPos && pos > mGapStartPosition && pos <= gapPos) {
+            offset = -mGapSize;
+        } else if (gapPos < mGapStartPosition && pos >= gapPos && pos < mGapStartPosition) {
+            offset = mGapSize;
+        }
+        return ((LinearLayoutManager) getLayoutManager()).getReverseLayout() ? -offset : offset;
+    }
+
+    private void setGapTranslation(View view, int offset) {
+        if (isVertical()) {
+            ViewCompat.setTranslationY(view, offset);
+        } else {
+            ViewCompat.setTranslationX(view, offset);
+        }
+    }
+
+    private void clearGapTranslations() {
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            ViewCompat.animate(child).cancel();
+            setGapTranslation(child, 0);
+        }
+    }
+
+    /**
+     * Moves the dragged item to the gap in the adapter, the only adapter change of a gap drag. Item animations are
+     * turned off until the drop animation has ended since the items are already shown at their new positions.
+     */
+    private void endGapDrag() {
+        mGapDragActive = false;
+        int fromPos = mAdapter.getPositionForItemId(mDragItemId);
+        int toPos = mDragItemPosition;
+        if (fromPos == NO_POSITION || fromPos == toPos || toPos == NO_POSITION) {
+            clearGapTranslations();
+            mGapStartPosition = NO_POSITION;
+            return;
+        }
+
+        // Keep the first visible item, other than the dragged one, where it is shown now
+        LinearLayoutManager layoutManager = (LinearLayoutManager) getLayoutManager();
+        int anchorPos = layoutManager.findFirstVisibleItemPosition();
+        if (anchorPos == fromPos) {
+            anchorPos++;
+        }
+        View anchorView = layoutManager.findViewByPosition(anchorPos);
+        int anchorOffset = 0;
+        if (anchorView != null) {
+            MarginLayoutParams params = (MarginLayoutParams) anchorView.getLayoutParams();
+            anchorOffset = isVertical() ? (int) (anchorView.getTop() + ViewCompat.getTranslationY(anchorView)) - params.topMargin
+                    : (int) (anchorView.getLeft() + ViewCompat.getTranslationX(anchorView)) - params.leftMargin;
+        }
+        int newAnchorPos = anchorPos;
+        if (fromPos < anchorPos && anchorPos <= toPos) {
+            newAnchorPos--;
+        } else if (toPos <= anchorPos && anchorPos < fromPos) {
+            newAnchorPos++;
+        }
+
+        clearGapTranslations();
+        mGapStartPosition = NO_POSITION;
+        mGapItemAnimator = getItemAnimator();
+        setItemAnimator(null);
+        mAdapter.changeItemPosition(fromPos, toPos);
+        if (anchorView != null) {
+            layoutManager.scrollToPositionWithOffset(newAnchorPos, anchorOffset);
+        }
+    }
+
     boolean startDrag(View itemView, long itemId, float x, float y) {
         int dragItemPosition = mAdapter.getPositionForItemId(itemId);
         if (!mDragEnabled || (mCanNotDragAboveTop && dragItemPosition == 0)
@@ -368,12 +744,16 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         mDragState = DragState.DRAG_STARTED;
         mDragItemId = itemId;
         setStartOffset();
+        mDragItem.setSourceHolder(getChildViewHolder(itemView));
         mDragItem.startDrag(itemView, x, y);
         mDragItemPosition = dragItemPosition;
+        MarginLayoutParams params = (MarginLayoutParams) itemView.getLayoutParams();
+        startGapDrag(dragItemPosition, isVertical() ? itemView.getHeight() + params.topMargin + params.bottomMargin
+                : itemView.getWidth() + params.leftMargin + params.rightMargin);
         updateDragPositionAndScroll();
 
         mAdapter.setDragItemId(mDragItemId);
-        mAdapter.notifyDataSetChanged();
+        mAdapter.notifyItemChanged(mDragItemPosition, DragItemAdapter.DRAG_STATE);
         if (mListener != null) {
             mListener.onDragStarted(mDragItemPosition, mDragItem.getX(), mDragItem.getY());
         }
@@ -383,18 +763,33 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
     }
 
     private void setStartOffset() {
-        Pair<Integer, Integer> startOffset = getStartOffset();
-
-        mDragItem.setStartOffset(startOffset.first, startOffset.second);
-    }
-
-    private Pair<Integer, Integer> getStartOffset() {
-        @Size(2) int[] outerPosition = new int[2];
-        mOuterParent.getLocationInWindow(outerPosition);
-        @Size(2) int[] innerPosition = new int[2];
-        getLocationInWindow(innerPosition);
+        // Always measure at the start of a drag, the cached value is then reused for every move
+        mStartOffsetValid = false;
+        updateStartOffset();
+        mDragItem.setStartOffset(mStartOffsetX, mStartOffsetY);
+    }
+
+    /**
+     * Updates the cached offset from the outer parent to this list. The offset is only recalculated after a layout
+     * of the outer parent or this list, so the drag move path does not allocate or query the window location.
+     */
+    private void updateStartOffset() {
+        if (mStartOffsetValid) {
+            return;
+        }
 
-        return new Pair<>(innerPosition[0] - outerPosition[0], innerPosition[1] - outerPosition[1]);
+        if (mOuterParent == null) {
+            mStartOffsetX = 0;
+            mStartOffsetY = 0;
+        } else {
+            mOuterParent.getLocationInWindow(mLocationInWindow);
+            int outerX = mLocationInWindow[0];
+            int outerY = mLocationInWindow[1];
+            getLocationInWindow(mLocationInWindow);
+            mStartOffsetX = mLocationInWindow[0] - outerX;
+            mStartOffsetY = mLocationInWindow[1] - outerY;
+        }
+        mStartOffsetValid = true;
     }
 
     void onDragging(float x, float y) {
@@ -403,11 +798,17 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         }
 
         mDragState = DragState.DRAGGING;
-        mDragItemPosition = mAdapter.getPositionForItemId(mDragItemId);
+        if (mGapDragActive) {
+            // The adapter is not changed until drop, the drag item position is the gap
+            mGapStartPosition = mAdapter.getPositionForItemId(mDragItemId);
+        } else {
+            mDragItemPosition = mAdapter.getPositionForItemId(mDragItemId);
+        }
         mDragItem.setPosition(x, y);
 
+        // Touch events can come faster than frames, only evaluate the drag position once per frame
         if (!mAutoScroller.isAutoScrolling()) {
-            updateDragPositionAndScroll();
+            scheduleDragUpdate();
         }
 
         if (mListener != null) {
@@ -423,43 +824,42 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         }
 
         mAutoScroller.stopAutoScroll();
+        if (mDragUpdateScheduled) {
+            // Drop at the last drag position
+            cancelDragUpdate();
+            updateDragPositionAndScroll();
+            mAutoScroller.stopAutoScroll();
+        }
         setEnabled(false);
 
         if (mDisableReorderWhenDragging) {
             int newPos = mAdapter.getPositionForItemId(mAdapter.getDropTargetId());
             if (newPos != NO_POSITION) {
                 mAdapter.swapItems(mDragItemPosition, newPos);
+                mAdapter.updateOrderKey(mDragItemPosition);
                 mDragItemPosition = newPos;
             }
-            mAdapter.setDropTargetId(NO_ID);
+            setDropTarget(null);
+        } else if (mGapDragActive) {
+            endGapDrag();
         }
+        mAdapter.updateOrderKey(mDragItemPosition);
 
         // Post so layout is done before we start end animation
-        post(new Runnable() {
-            @Override
-            public void run() {
-                // Sometimes the holder will be null if a holder has not yet been set for the position
-                final RecyclerView.ViewHolder holder = findViewHolderForAdapterPosition(mDragItemPosition);
-                if (holder != null) {
-                    getItemAnimator().endAnimation(holder);
-                    mDragItem.endDrag(holder.itemView, new AnimatorListenerAdapter() {
-                        @Override
-                        public void onAnimationEnd(Animator animation) {
-                            holder.itemView.setAlpha(1);
-                            onDragItemAnimationEnd();
-                        }
-                    });
-                } else {
-                    onDragItemAnimationEnd();
-                }
-            }
-        });
+        post(mDropRunnable);
     }
 
     private void onDragItemAnimationEnd() {
+        if (mGapItemAnimator != null) {
+            setItemAnimator(mGapItemAnimator);
+            mGapItemAnimator = null;
+        }
+        int dragItemPosition = mAdapter.getPositionForItemId(mDragItemId);
         mAdapter.setDragItemId(NO_ID);
-        mAdapter.setDropTargetId(NO_ID);
-        mAdapter.notifyDataSetChanged();
+        setDropTarget(null);
+        if (dragItemPosition != NO_POSITION) {
+            mAdapter.notifyItemChanged(dragItemPosition, DragItemAdapter.DRAG_STATE);
+        }
 
         mDragState = DragState.DRAG_ENDED;
         if (mListener != null) {
@@ -494,6 +894,8 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
         mAdapter.setDragItemId(mDragItemId);
         mAdapter.addItem(pos, item);
         mDragItemPosition = pos;
+        View dragView = mDragItem.getDragItemView();
+        startGapDrag(pos, isVertical() ? dragView.getMeasuredHeight() : dragView.getMeasuredWidth());
 
         mHoldChangePosition = true;
         postDelayed(new Runnable() {
@@ -511,7 +913,16 @@ public class DragItemRecyclerView extends RecyclerView implements AutoScroller.A
             return null;
         }
         mAutoScroller.stopAutoScroll();
-        Object item = mAdapter.removeItem(mDragItemPosition);
+        cancelDragUpdate();
+        int itemPosition = mDragItemPosition;
+        if (mGapDragActive) {
+            // In gap mode the item is still at its start position in the adapter
+            clearGapTranslations();
+            mGapDragActive = false;
+            itemPosition = mAdapter.getPositionForItemId(mDragItemId);
+            mGapStartPosition = NO_POSITION;
+        }
+        Object item = mAdapter.removeItem(itemPosition);
         mAdapter.setDragItemId(NO_ID);
         mDragState = DragState.DRAG_ENDED;
         mDragItemId = NO_ID;
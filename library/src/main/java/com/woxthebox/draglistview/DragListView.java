@@ -72,6 +72,8 @@ public class DragListView extends FrameLayout {
 
     private DragItemRecyclerView mRecyclerView;
     private DragListListener mDragListListener;
+    private DragMove.Listener mDragMoveListener;
+    private DragMoveJournal mDragMoveJournal = new DragMoveJournal();
     private DragListCallback mDragListCallback;
     private DragItem mDragItem;
     private ListSwipeHelper mSwipeHelper;
@@ -143,6 +145,7 @@ public class DragListView extends FrameLayout {
             public void onDragStarted(int itemPosition, float x, float y) {
                 getParent().requestDisallowInterceptTouchEvent(true);
                 mDragStartPosition = itemPosition;
+                mDragMoveJournal.start(recyclerView.getDragItemId(), 0, itemPosition);
                 if (mDragListListener != null) {
                     mDragListListener.onItemDragStarted(itemPosition);
                 }
@@ -150,6 +153,7 @@ public class DragListView extends FrameLayout {
 
             @Override
             public void onDragging(int itemPosition, float x, float y) {
+                mDragMoveJournal.update(0, itemPosition);
                 if (mDragListListener != null) {
                     mDragListListener.onItemDragging(itemPosition, x, y);
                 }
@@ -160,6 +164,10 @@ public class DragListView extends FrameLayout {
                 if (mDragListListener != null) {
                     mDragListListener.onItemDragEnded(mDragStartPosition, newItemPosition);
                 }
+                DragMove move = mDragMoveJournal.end((DragItemAdapter) recyclerView.getAdapter(), 0, newItemPosition);
+                if (mDragMoveListener != null && move != null) {
+                    mDragMoveListener.onItemMoved(move);
+                }
             }
         });
         recyclerView.setDragItemCallback(new DragItemRecyclerView.DragItemCallback() {
@@ -236,6 +244,14 @@ public class DragListView extends FrameLayout {
         mDragListListener = listener;
     }
 
+    /**
+     * @param listener Listener that gets the net result of every drag as one {@link DragMove}. The column of the move
+     *                 is always 0.
+     */
+    public void setDragMoveListener(DragMove.Listener listener) {
+        mDragMoveListener = listener;
+    }
+
     public void setDragListCallback(DragListCallback callback) {
         mDragListCallback = callback;
     }
@@ -289,6 +305,20 @@ public class DragListView extends FrameLayout {
         mRecyclerView.setScrollingEnabled(scrollingEnabled);
     }
 
+    /**
+     * Sets how the auto scroll speed should change when dragging an item towards the edge of the list. By default the
+     * list scrolls at a fixed speed.
+     *
+     * @param maxEdgeSpeedFactor The speed factor when the drag item is at the very edge of the list. The speed grows
+     *                           linearly from the normal speed where auto scroll starts. 1 gives a fixed speed.
+     * @param maxHoldSpeedFactor The speed factor reached when the drag item has been held at the edge for
+     *                           holdRampDuration. 1 disables the acceleration.
+     * @param holdRampDuration   The time in ms it takes to accelerate to maxHoldSpeedFactor.
+     */
+    public void setAutoScrollSpeedProfile(float maxEdgeSpeedFactor, float maxHoldSpeedFactor, int holdRampDuration) {
+        mRecyclerView.setAutoScrollSpeedProfile(maxEdgeSpeedFactor, maxHoldSpeedFactor, holdRampDuration);
+    }
+
     /**
      * Set if items should not reorder automatically when dragging. If reorder is disabled, drop target
      * drawables can be set with {@link #setDropTargetDrawables} which will highlight the current item that
@@ -300,6 +330,27 @@ public class DragListView extends FrameLayout {
         mRecyclerView.setDisableReorderWhenDragging(disableReorder);
     }
 
+    /**
+     * Set if the adapter should only be changed when an item is dropped. While dragging, the other items are moved
+     * out of the way with view translations instead of moving the dragged item in the adapter, which needs no layout
+     * passes. Has no effect if reorder is disabled with {@link #setDisableReorderWhenDragging}. Disabled by default.
+     *
+     * @param enabled True if gap drag mode should be used, false otherwise.
+     */
+    public void setGapDragEnabled(boolean enabled) {
+        mRecyclerView.setGapDragEnabled(enabled);
+    }
+
+    /**
+     * Set how far past the middle of an item the drag must go before the dragged item moves to its position. This
+     * stops items from flipping back and forth when an item is held on the border between two items.
+     *
+     * @param hysteresis The distance in pixels, 0 to move as soon as the drag is over another item. Default is 0.
+     */
+    public void setDragReorderHysteresis(int hysteresis) {
+        mRecyclerView.setDragReorderHysteresis(hysteresis);
+    }
+
     /**
      * If {@link #setDisableReorderWhenDragging} has been set to True then a background and/or foreground drawable
      * can be provided to highlight the current item which will be swapped when dropping. These drawables
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.woxthebox.draglistview;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * The net result of one drag, no matter how many times the item changed position or column while dragging. Contains
+ * everything needed to persist the move as a single operation. The neighbour ids are the ids of the items directly
+ * before and after the item where it was dropped, or {@link RecyclerView#NO_ID} if there is no neighbour.
+ */
+public final class DragMove {
+
+    public interface Listener {
+        /**
+         * Called once for every drop, check {@link DragMove#isMoved()} to know if the item ended up somewhere else.
+         */
+        void onItemMoved(DragMove move);
+    }
+
+    private final long mItemId;
+    private final int mFromColumn;
+    private final int mFromRow;
+    private final int mToColumn;
+    private final int mToRow;
+    private final long mPreviousItemId;
+    private final long mNextItemId;
+
+    DragMove(long itemId, int fromColumn, int fromRow, int toColumn, int toRow, long previousItemId, long nextItemId) {
+        mItemId = itemId;
+        mFromColumn = fromColumn;
+        mFromRow = fromRow;
+        mToColumn = toColumn;
+        mToRow = toRow;
+        mPreviousItemId = previousItemId;
+        mNextItemId = nextItemId;
+    }
+
+    public long getItemId() {
+        return mItemId;
+    }
+
+    public int getFromColumn() {
+        return mFromColumn;
+    }
+
+    public int getFromRow() {
+        return mFromRow;
+    }
+
+    public int getToColumn() {
+        return mToColumn;
+    }
+
+    public int getToRow() {
+        return mToRow;
+    }
+
+    public long getPreviousItemId() {
+        return mPreviousItemId;
+    }
+
+    public long getNextItemId() {
+        return mNextItemId;
+    }
+
+    public boolean isMoved() {
+        return mFromColumn != mToColumn || mFromRow != mToRow;
+    }
+
+    @Override
+    public String toString() {
+        return "DragMove{itemId=" + mItemId + ", from=" + mFromColumn + ":" + mFromRow + ", to=" + mToColumn + ":" + mToRow
+                + ", previousItemId=" + mPreviousItemId + ", nextItemId=" + mNextItemId + "}";
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.woxthebox.draglistview;
+
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Follows a drag through all its position and column changes and reduces them to a single {@link DragMove} on drop.
+ */
+class DragMoveJournal {
+    private long mItemId = RecyclerView.NO_ID;
+    private int mFromColumn;
+    private int mFromRow;
+    private int mColumn;
+    private int mRow;
+
+    void start(long itemId, int column, int row) {
+        mItemId = itemId;
+        mFromColumn = column;
+        mFromRow = row;
+        mColumn = column;
+        mRow = row;
+    }
+
+    void update(int column, int row) {
+        mColumn = column;
+        mRow = row;
+    }
+
+    boolean isStarted() {
+        return mItemId != RecyclerView.NO_ID;
+    }
+
+    /**
+     * Ends the drag and creates the net move.
+     *
+     * @param adapter The adapter the item was dropped in, used to look up the neighbours.
+     * @return The move or null if no drag was started.
+     */
+    DragMove end(DragItemAdapter adapter, int column, int row) {
+        if (!isStarted()) {
+            return null;
+        }
+
+        update(column, row);
+        long previousItemId = mRow > 0 && mRow - 1 < adapter.getItemCount() ? adapter.getItemId(mRow - 1) : RecyclerView.NO_ID;
+        long nextItemId = mRow >= 0 && mRow + 1 < adapter.getItemCount() ? adapter.getItemId(mRow + 1) : RecyclerView.NO_ID;
+        DragMove move = new DragMove(mItemId, mFromColumn, mFromRow, mColumn, mRow, previousItemId, nextItemId);
+        mItemId = RecyclerView.NO_ID;
+        return move;
+    }
+}
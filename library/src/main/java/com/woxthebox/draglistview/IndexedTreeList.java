@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * A list backed by a balanced tree that is indexed by position. Get, set, add and remove at any position run in
+ * O(log n), compared to the O(n) array shifts of an ArrayList when adding or removing in the middle of the list.
+ * Use it as item list for a {@link DragItemAdapter} with a very large number of items, where every reorder step of a
+ * drag removes and adds an item in the middle of the list.
+ */
+public class IndexedTreeList<T> extends AbstractList<T> {
+
+    private static class Node<T> {
+        T item;
+        int priority;
+        int size = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(T item, int priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+
+    private Random mRandom = new Random();
+    private Node<T> mRoot;
+    // Results of split, only valid directly after a call to split
+    private Node<T> mSplitLeft;
+    private Node<T> mSplitRight;
+
+    public IndexedTreeList() {
+    }
+
+    public IndexedTreeList(Collection<? extends T> items) {
+        addAll(items);
+    }
+
+    @Override
+    public T get(int index) {
+        return getNode(index).item;
+    }
+
+    @Override
+    public T set(int index, T item) {
+        Node<T> node = getNode(index);
+        T oldItem = node.item;
+        node.item = item;
+        return oldItem;
+    }
+
+    @Override
+    public void add(int index, T item) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node<T> node = new Node<>(item, mRandom.nextInt());
+        if (index == size()) {
+            mRoot = merge(mRoot, node);
+        } else {
+            split(mRoot, index);
+            Node<T> right = mSplitRight;
+            mRoot = merge(merge(mSplitLeft, node), right);
+        }
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        split(mRoot, index);
+        Node<T> left = mSplitLeft;
+        split(mSplitRight, 1);
+        Node<T> removed = mSplitLeft;
+        mRoot = merge(left, mSplitRight);
+        mSplitLeft = null;
+        mSplitRight = null;
+        modCount++;
+        return removed.item;
+    }
+
+    @Override
+    public void clear() {
+        mRoot = null;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size(mRoot);
+    }
+
+    private Node<T> getNode(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node<T> node = mRoot;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Splits the tree so that the first count items end up in mSplitLeft and the rest in mSplitRight.
+     */
+    private void split(Node<T> node, int count) {
+        if (node == null) {
+            mSplitLeft = null;
+            mSplitRight = null;
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if (leftSize < count) {
+            split(node.right, count - leftSize - 1);
+            node.right = mSplitLeft;
+            updateSize(node);
+            mSplitLeft = node;
+        } else {
+            split(node.left, count);
+            node.left = mSplitRight;
+            updateSize(node);
+            mSplitRight = node;
+        }
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            updateSize(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            updateSize(right);
+            return right;
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void updateSize(Node<?> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from long keys to int values without boxing.
+ */
+class LongIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mKeys;
+    private int[] mValues;
+    private boolean[] mUsed;
+    private int mSize;
+
+    LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongIntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    int get(long key, int defaultValue) {
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+        while (mUsed[index]) {
+            if (mKeys[index] == key) {
+                return mValues[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    void put(long key, int value) {
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+        while (mUsed[index]) {
+            if (mKeys[index] == key) {
+                mValues[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        mUsed[index] = true;
+        mKeys[index] = key;
+        mValues[index] = value;
+        mSize++;
+        if (mSize * 2 > mKeys.length) {
+            rehash(mKeys.length * 2);
+        }
+    }
+
+    void remove(long key) {
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+        while (mUsed[index]) {
+            if (mKeys[index] == key) {
+                mUsed[index] = false;
+                mSize--;
+                closeGap(index);
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    void clear() {
+        Arrays.fill(mUsed, false);
+        mSize = 0;
+    }
+
+    // Shift following entries of the same probe sequence back so lookups never stop at the removed slot
+    private void closeGap(int gap) {
+        int mask = mKeys.length - 1;
+        int index = (gap + 1) & mask;
+        while (mUsed[index]) {
+            int home = hash(mKeys[index]) & mask;
+            boolean canMove = gap <= index ? (home <= gap || home > index) : (home <= gap && home > index);
+            if (canMove) {
+                mKeys[gap] = mKeys[index];
+                mValues[gap] = mValues[index];
+                mUsed[gap] = true;
+                mUsed[index] = false;
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] keys = mKeys;
+        int[] values = mValues;
+        boolean[] used = mUsed;
+        allocate(capacity);
+        mSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                put(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+        mUsed = new boolean[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
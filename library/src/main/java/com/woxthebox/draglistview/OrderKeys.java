@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+/**
+ * Generates order keys for fractional indexing. An order key is a string of base 62 digits that is read as the
+ * fraction after a decimal point, so keys sort the same way as strings and numbers. A new key can always be generated
+ * between two keys, so moving an item only needs a new key for the moved item. Keys are never empty and never end
+ * with the smallest digit.
+ */
+public class OrderKeys {
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private OrderKeys() {
+    }
+
+    /**
+     * @param before The key before the new key or null if the new key should be first.
+     * @param after  The key after the new key or null if the new key should be last.
+     * @return A key that sorts after before and before after.
+     */
+    public static String between(String before, String after) {
+        if (before != null) {
+            validate(before);
+        }
+        if (after != null) {
+            validate(after);
+        }
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Key " + before + " is not before " + after);
+        }
+        return midpoint(before != null ? before : "", after);
+    }
+
+    /**
+     * @param count The number of keys to generate.
+     * @return Keys in ascending order that are evenly spaced, used to rebalance keys that have grown long.
+     */
+    public static String[] evenlySpaced(int count) {
+        int length = 1;
+        long range = BASE;
+        while (range < 2L * (count + 1)) {
+            length++;
+            range *= BASE;
+        }
+
+        String[] keys = new String[count];
+        char[] digits = new char[length];
+        for (int i = 0; i < count; i++) {
+            long value = (i + 1) * range / (count + 1);
+            for (int j = length - 1; j >= 0; j--) {
+                digits[j] = DIGITS.charAt((int) (value % BASE));
+                value /= BASE;
+            }
+
+            int keyLength = length;
+            while (digits[keyLength - 1] == DIGITS.charAt(0)) {
+                keyLength--;
+            }
+            keys[i] = new String(digits, 0, keyLength);
+        }
+        return keys;
+    }
+
+    private static String midpoint(String before, String after) {
+        if (after != null) {
+            // Skip the common prefix, missing digits in before count as the smallest digit
+            int prefixLength = 0;
+            while (prefixLength < after.length()
+                    && (prefixLength < before.length() ? before.charAt(prefixLength) : DIGITS.charAt(0)) == after.charAt(prefixLength)) {
+                prefixLength++;
+            }
+            if (prefixLength > 0) {
+                String beforeRest = prefixLength < before.length() ? before.substring(prefixLength) : "";
+                return after.substring(0, prefixLength) + midpoint(beforeRest, after.substring(prefixLength));
+            }
+        }
+
+        int digitBefore = before.length() > 0 ? DIGITS.indexOf(before.charAt(0)) : 0;
+        int digitAfter = after != null ? DIGITS.indexOf(after.charAt(0)) : BASE;
+        if (digitAfter - digitBefore > 1) {
+            return String.valueOf(DIGITS.charAt((digitBefore + digitAfter) / 2));
+        }
+
+        // The first digits are consecutive
+        if (after != null && after.length() > 1) {
+            return after.substring(0, 1);
+        }
+        return DIGITS.charAt(digitBefore) + midpoint(before.length() > 0 ? before.substring(1) : "", null);
+    }
+
+    private static void validate(String key) {
+        if (key.length() == 0 || key.charAt(key.length() - 1) == DIGITS.charAt(0)) {
+            throw new IllegalArgumentException("Invalid order key: " + key);
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) == -1) {
+                throw new IllegalArgumentException("Invalid order key: " + key);
+            }
+        }
+    }
+}
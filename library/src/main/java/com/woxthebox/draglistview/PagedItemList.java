@@ -0,0 +1,356 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.woxthebox.draglistview;
+
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An item list for {@link DragItemAdapter} that only keeps a window of pages in memory. The list has the total number
+ * of items from the start, rows that are not loaded are null. Pages are loaded from a {@link PageSource} on a background
+ * executor when rows close to them are bound, and the pages that were used least recently are dropped when more than
+ * the max number of pages are loaded.
+ * <p/>
+ * Items can be dragged and moved across page boundaries like in any other list. The source must return the items in
+ * the order of this list, so moves should be persisted to the source, for example from a {@link DragMove.Listener}.
+ * Loads of pages whose rows have been moved or changed while loading are discarded and requested again.
+ * <p/>
+ * The adapter must handle null items, return a stable id for them from getItemId, for example with
+ * {@link #getPlaceholderId(int)}, and bind a placeholder view. Placeholders can not be dragged.
+ */
+public class PagedItemList<T> extends AbstractList<T> {
+
+    public interface PageSource<T> {
+        /**
+         * Called on the load executor.
+         *
+         * @param startPosition The position of the first item to load.
+         * @param count         The number of items to load.
+         * @return The items, can be fewer than count at the end of the list.
+         */
+        List<T> loadRange(int startPosition, int count);
+    }
+
+    /**
+     * A page that is being loaded. Tracks where the rows of the page are now, so a load is only discarded if the list
+     * changed in a way that moved or changed the rows of its page.
+     */
+    private static class PageLoad {
+        final int page;
+        int start;
+        int end;
+        boolean changed;
+
+        PageLoad(int page, int start, int end) {
+            this.page = page;
+            this.start = start;
+            this.end = end;
+        }
+
+        void onAdded(int index) {
+            if (index <= start) {
+                start++;
+                end++;
+            } else if (index < end) {
+                changed = true;
+                end++;
+            }
+        }
+
+        void onRemoved(int index) {
+            if (index < start) {
+                start--;
+                end--;
+            } else if (index < end) {
+                changed = true;
+                end--;
+            }
+        }
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int DEFAULT_MAX_LOADED_PAGES = 10;
+
+    private final ArrayList<T> mItems;
+    // Every row has a slot id that moves with the row, used to give placeholders ids that don't depend on the position
+    private int[] mSlotIds;
+    private int mNextSlotId;
+    private final PageSource<T> mSource;
+    private final int mPageSize;
+    private int mPrefetchDistance;
+    private int mMaxLoadedPages = DEFAULT_MAX_LOADED_PAGES;
+    private Executor mLoadExecutor = AsyncTask.THREAD_POOL_EXECUTOR;
+    private Handler mMainHandler = new Handler(Looper.getMainLooper());
+    // Access ordered so the first page is the least recently used one
+    private LinkedHashMap<Integer, Boolean> mLoadedPages = new LinkedHashMap<>(16, 0.75f, true);
+    // Few pages load at the same time, a list is cheaper to walk on every add and remove than a map
+    private ArrayList<PageLoad> mPageLoads = new ArrayList<>();
+    private DragItemAdapter mAdapter;
+    private boolean mEvictionPaused;
+    private int mLastLoadPosition;
+
+    public PagedItemList(int totalCount, PageSource<T> source) {
+        this(totalCount, DEFAULT_PAGE_SIZE, source);
+    }
+
+    public PagedItemList(int totalCount, int pageSize, PageSource<T> source) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        mItems = new ArrayList<>(Collections.<T>nCopies(totalCount, null));
+        mSlotIds = new int[Math.max(totalCount, 1)];
+        for (int i = 0; i < totalCount; i++) {
+            mSlotIds[i] = mNextSlotId++;
+        }
+        mPageSize = pageSize;
+        mPrefetchDistance = pageSize;
+        mSource = source;
+    }
+
+    /**
+     * @param prefetchDistance Pages within this many rows of a bound row are loaded. Default is one page.
+     */
+    public void setPrefetchDistance(int prefetchDistance) {
+        mPrefetchDistance = prefetchDistance;
+    }
+
+    /**
+     * @param maxLoadedPages The max number of pages to keep in memory. Default is 10.
+     */
+    public void setMaxLoadedPages(int maxLoadedPages) {
+        mMaxLoadedPages = maxLoadedPages;
+    }
+
+    /**
+     * @param executor The executor pages are loaded on. Default is {@link AsyncTask#THREAD_POOL_EXECUTOR}.
+     */
+    public void setLoadExecutor(Executor executor) {
+        mLoadExecutor = executor;
+    }
+
+    /**
+     * @return A unique id for the placeholder at a position that will not clash with positive item ids. The id belongs to
+     * the row and does not change when rows are added or removed above it.
+     */
+    public long getPlaceholderId(int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size());
+        }
+        return Long.MIN_VALUE + mSlotIds[position];
+    }
+
+    public boolean isLoaded(int position) {
+        return mItems.get(position) != null;
+    }
+
+    public boolean isFullyLoaded() {
+        for (int i = 0; i < mItems.size(); i++) {
+            if (mItems.get(i) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T get(int index) {
+        return mItems.get(index);
+    }
+
+    @Override
+    public T set(int index, T item) {
+        return mItems.set(index, item);
+    }
+
+    @Override
+    public void add(int index, T item) {
+        int size = mItems.size();
+        mItems.add(index, item);
+        if (size == mSlotIds.length) {
+            int[] slotIds = new int[size * 2];
+            System.arraycopy(mSlotIds, 0, slotIds, 0, size);
+            mSlotIds = slotIds;
+        }
+        System.arraycopy(mSlotIds, index, mSlotIds, index + 1, size - index);
+        mSlotIds[index] = mNextSlotId++;
+        for (int i = 0; i < mPageLoads.size(); i++) {
+            mPageLoads.get(i).onAdded(index);
+        }
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T item = mItems.remove(index);
+        System.arraycopy(mSlotIds, index + 1, mSlotIds, index, mItems.size() - index);
+        for (int i = 0; i < mPageLoads.size(); i++) {
+            mPageLoads.get(i).onRemoved(index);
+        }
+        modCount++;
+        return item;
+    }
+
+    @Override
+    public int size() {
+        return mItems.size();
+    }
+
+    void setAdapter(DragItemAdapter adapter) {
+        mAdapter = adapter;
+    }
+
+    /**
+     * Stops dropping pages while an item is dragged so the dragged item is never replaced with a placeholder.
+     */
+    void setEvictionPaused(boolean paused) {
+        mEvictionPaused = paused;
+        if (!paused) {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    trimLoadedPages();
+                }
+            });
+        }
+    }
+
+    /**
+     * Loads the pages around a position that has been bound. Called from onBindViewHolder so nothing here may notify
+     * the adapter directly.
+     */
+    void loadAround(int position) {
+        mLastLoadPosition = position;
+        int firstPage = Math.max(0, position - mPrefetchDistance) / mPageSize;
+        int lastPage = Math.min(size() - 1, position + mPrefetchDistance) / mPageSize;
+        for (int page = firstPage; page <= lastPage; page++) {
+            if (mLoadedPages.get(page) == null || !isPageComplete(page)) {
+                loadPage(page);
+            }
+        }
+    }
+
+    private boolean isInLoadWindow(int page) {
+        int firstPage = Math.max(0, mLastLoadPosition - mPrefetchDistance) / mPageSize;
+        int lastPage = Math.min(size() - 1, mLastLoadPosition + mPrefetchDistance) / mPageSize;
+        return page >= firstPage && page <= lastPage;
+    }
+
+    private boolean isPageComplete(int page) {
+        int end = Math.min(size(), (page + 1) * mPageSize);
+        for (int i = page * mPageSize; i < end; i++) {
+            if (mItems.get(i) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void loadPage(final int page) {
+        if (isPageLoading(page)) {
+            return;
+        }
+
+        final int startPosition = page * mPageSize;
+        final PageLoad load = new PageLoad(page, startPosition, Math.min(size(), startPosition + mPageSize));
+        mPageLoads.add(load);
+        mLoadExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<T> items = mSource.loadRange(startPosition, mPageSize);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(load, items);
+                    }
+                });
+            }
+        });
+    }
+
+    private boolean isPageLoading(int page) {
+        for (int i = 0; i < mPageLoads.size(); i++) {
+            if (mPageLoads.get(i).page == page) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onPageLoaded(PageLoad load, List<T> items) {
+        mPageLoads.remove(load);
+        int page = load.page;
+        int startPosition = page * mPageSize;
+        if (load.changed || load.start != startPosition) {
+            // Items have been added, removed or moved in or before the page since the load started so its rows don't
+            // match any more. Changes after the page don't matter.
+            if (isInLoadWindow(page)) {
+                loadPage(page);
+            }
+            return;
+        }
+
+        int count = Math.min(items == null ? 0 : items.size(), load.end - startPosition);
+        if (mAdapter != null && count > 0) {
+            mAdapter.onPagedItemRangeChanging(startPosition, count);
+        }
+        for (int i = 0; i < count; i++) {
+            if (mItems.get(startPosition + i) == null) {
+                mItems.set(startPosition + i, items.get(i));
+            }
+        }
+        mLoadedPages.put(page, Boolean.TRUE);
+        if (mAdapter != null && count > 0) {
+            mAdapter.onPagedItemRangeChanged(startPosition, count);
+        }
+        trimLoadedPages();
+    }
+
+    private void trimLoadedPages() {
+        if (mEvictionPaused) {
+            return;
+        }
+
+        Iterator<Integer> iterator = mLoadedPages.keySet().iterator();
+        while (mLoadedPages.size() > mMaxLoadedPages && iterator.hasNext()) {
+            int page = iterator.next();
+            if (isInLoadWindow(page)) {
+                continue;
+            }
+            iterator.remove();
+
+            int startPosition = page * mPageSize;
+            int end = Math.min(size(), startPosition + mPageSize);
+            if (mAdapter != null && end > startPosition) {
+                mAdapter.onPagedItemRangeChanging(startPosition, end - startPosition);
+            }
+            for (int i = startPosition; i < end; i++) {
+                mItems.set(i, null);
+            }
+            if (mAdapter != null && end > startPosition) {
+                mAdapter.onPagedItemRangeChanged(startPosition, end - startPosition);
+            }
+        }
+    }
+}
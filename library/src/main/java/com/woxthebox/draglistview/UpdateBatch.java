@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import android.support.v7.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * Collects adapter changes and merges them into as few notify calls as possible.
+ */
+class UpdateBatch {
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int MOVE = 2;
+
+    private static class UpdateOp {
+        int type;
+        int positionStart;
+        int itemCount;
+        int toPosition;
+
+        UpdateOp(int type, int positionStart, int itemCount, int toPosition) {
+            this.type = type;
+            this.positionStart = positionStart;
+            this.itemCount = itemCount;
+            this.toPosition = toPosition;
+        }
+    }
+
+    private ArrayList<UpdateOp> mOps = new ArrayList<>();
+    private boolean mDataSetChanged;
+    private int mChangedItemCount;
+
+    void addInserted(int pos) {
+        mChangedItemCount++;
+        UpdateOp last = getLastOp();
+        // Inserting inside or right after an inserted range keeps the range contiguous
+        if (last != null && last.type == ADD && pos >= last.positionStart && pos <= last.positionStart + last.itemCount) {
+            last.itemCount++;
+            return;
+        }
+        mOps.add(new UpdateOp(ADD, pos, 1, 0));
+    }
+
+    void addRemoved(int pos) {
+        mChangedItemCount++;
+        UpdateOp last = getLastOp();
+        if (last != null && last.type == REMOVE) {
+            if (pos == last.positionStart) {
+                last.itemCount++;
+                return;
+            } else if (pos == last.positionStart - 1) {
+                last.positionStart--;
+                last.itemCount++;
+                return;
+            }
+        }
+        mOps.add(new UpdateOp(REMOVE, pos, 1, 0));
+    }
+
+    void addMoved(int fromPos, int toPos) {
+        mChangedItemCount++;
+        UpdateOp last = getLastOp();
+        // Moving the same item again is the same as one move from the first position
+        if (last != null && last.type == MOVE && last.toPosition == fromPos) {
+            if (last.positionStart == toPos) {
+                mOps.remove(mOps.size() - 1);
+            } else {
+                last.toPosition = toPos;
+            }
+            return;
+        }
+        mOps.add(new UpdateOp(MOVE, fromPos, 1, toPos));
+    }
+
+    void addDataSetChanged() {
+        mDataSetChanged = true;
+    }
+
+    boolean isEmpty() {
+        return !mDataSetChanged && mOps.isEmpty();
+    }
+
+    /**
+     * Dispatches the collected changes to the adapter and clears the batch.
+     *
+     * @param animationThreshold If more items than this have changed the adapter is notified with a data set change
+     *                           instead, which skips the item animations.
+     */
+    void dispatchTo(RecyclerView.Adapter adapter, int animationThreshold) {
+        if (mDataSetChanged || mChangedItemCount > animationThreshold) {
+            adapter.notifyDataSetChanged();
+        } else {
+            for (UpdateOp op : mOps) {
+                switch (op.type) {
+                    case ADD:
+                        adapter.notifyItemRangeInserted(op.positionStart, op.itemCount);
+                        break;
+                    case REMOVE:
+                        adapter.notifyItemRangeRemoved(op.positionStart, op.itemCount);
+                        break;
+                    case MOVE:
+                        adapter.notifyItemMoved(op.positionStart, op.toPosition);
+                        break;
+                }
+            }
+        }
+        clear();
+    }
+
+    void clear() {
+        mOps.clear();
+        mDataSetChanged = false;
+        mChangedItemCount = 0;
+    }
+
+    private UpdateOp getLastOp() {
+        return mOps.isEmpty() ? null : mOps.get(mOps.size() - 1);
+    }
+}
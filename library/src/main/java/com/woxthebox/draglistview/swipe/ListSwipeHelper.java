@@ -25,6 +25,8 @@ import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
 
+import java.util.ArrayList;
+
 public class ListSwipeHelper extends RecyclerView.OnScrollListener implements RecyclerView.OnItemTouchListener {
 
     public static abstract class OnSwipeListenerAdapter implements OnSwipeListener {
@@ -52,6 +54,8 @@ public class ListSwipeHelper extends RecyclerView.OnScrollListener implements Re
     private GestureListener mGestureListener;
     private GestureDetector mGestureDetector;
     private ListSwipeItem mSwipeView;
+    // Items that have been swiped and not yet reset, so resets don't have to look at every child
+    private ArrayList<ListSwipeItem> mSwipedItems = new ArrayList<>();
     private RecyclerView mRecyclerView;
     private OnSwipeListener mSwipeListener;
     private int mTouchSlop;
@@ -79,11 +83,18 @@ public class ListSwipeHelper extends RecyclerView.OnScrollListener implements Re
     }
 
     public void resetSwipedViews(View exceptionView) {
-        int childCount = mRecyclerView.getChildCount();
-        for (int i = 0; i < childCount; i++) {
-            View view = mRecyclerView.getChildAt(i);
-            if (view instanceof ListSwipeItem && view != exceptionView) {
-                ((ListSwipeItem) view).resetSwipe(true);
+        if (mSwipedItems.isEmpty()) {
+            return;
+        }
+
+        for (int i = mSwipedItems.size() - 1; i >= 0; i--) {
+            ListSwipeItem item = mSwipedItems.get(i);
+            if (item != exceptionView) {
+                // Only animate items that are still shown in the list
+                item.resetSwipe(item.getParent() == mRecyclerView);
+            }
+            if (!item.isSwipeStarted()) {
+                mSwipedItems.remove(i);
             }
         }
     }
@@ -133,6 +144,7 @@ public class ListSwipeHelper extends RecyclerView.OnScrollListener implements Re
             mRecyclerView.removeOnScrollListener(this);
         }
         mRecyclerView = null;
+        mSwipedItems.clear();
     }
 
     public void attachToRecyclerView(RecyclerView recyclerView) {
@@ -161,6 +173,9 @@ public class ListSwipeHelper extends RecyclerView.OnScrollListener implements Re
                 mSwipeStarted = true;
                 mRecyclerView.requestDisallowInterceptTouchEvent(true);
                 mSwipeView.handleSwipeMoveStarted(mSwipeListener);
+                if (!mSwipedItems.contains(mSwipeView)) {
+                    mSwipedItems.add(mSwipeView);
+                }
                 if (mSwipeListener != null) {
                     mSwipeListener.onItemSwipeStarted(mSwipeView);
                 }
@@ -18,19 +18,23 @@ package com.woxthebox.draglistview.swipe;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
 import android.widget.RelativeLayout;
 
 import com.woxthebox.draglistview.R;
 
 public class ListSwipeItem extends RelativeLayout {
 
+    private static final int SWIPE_ANIMATION_DURATION = 250;
+    private static final Interpolator SWIPE_ANIMATION_INTERPOLATOR = new DecelerateInterpolator();
+
     private enum SwipeState {
         IDLE, // Item is not moving
         SWIPING, // Item is moving because the user is swiping with the finger
@@ -63,6 +67,55 @@ public class ListSwipeItem extends RelativeLayout {
     // Used to report swiped distance to listener. This is will be set at the start of the swipe and reset at the end.
     private ListSwipeHelper.OnSwipeListener mSwipeListener;
 
+    // The swipe animator is reused for every animation and animates a fraction from 0 to 1 between the stored values
+    private ValueAnimator mSwipeAnimator;
+    private float mAnimateFromX;
+    private float mAnimateToX;
+    private Animator.AnimatorListener mFirstAnimationListener;
+    private Animator.AnimatorListener mSecondAnimationListener;
+    private final ValueAnimator.AnimatorUpdateListener mSwipeUpdateListener = new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animation) {
+            float fraction = (Float) animation.getAnimatedValue();
+            setSwipeTranslationX(mAnimateFromX + (mAnimateToX - mAnimateFromX) * fraction);
+        }
+    };
+    private final Animator.AnimatorListener mSwipeAnimatorListener = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            // Clear before calling so an animation started from a listener keeps its own listeners
+            Animator.AnimatorListener first = mFirstAnimationListener;
+            Animator.AnimatorListener second = mSecondAnimationListener;
+            mFirstAnimationListener = null;
+            mSecondAnimationListener = null;
+            if (first != null) {
+                first.onAnimationEnd(animation);
+            }
+            if (second != null) {
+                second.onAnimationEnd(animation);
+            }
+        }
+    };
+    private final Animator.AnimatorListener mResetListener = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            mSwipeState = SwipeState.IDLE;
+            mSwipeListener = null;
+        }
+    };
+    private final Animator.AnimatorListener mIdleListener = new AnimatorListenerAdapter() {
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            mSwipeState = SwipeState.IDLE;
+            if (mSwipeTranslationX == 0) {
+                resetSwipe(false);
+            }
+            if (mViewHolder != null) {
+                mViewHolder.setIsRecyclable(true);
+            }
+        }
+    };
+
     public ListSwipeItem(Context context) {
         super(context);
     }
@@ -189,21 +242,24 @@ public class ListSwipeItem extends RelativeLayout {
         }
     }
 
-    void animateToSwipeTranslationX(float x, Animator.AnimatorListener... listeners) {
+    void animateToSwipeTranslationX(float x, Animator.AnimatorListener firstListener, Animator.AnimatorListener secondListener) {
         if (x == mSwipeTranslationX) {
             return;
         }
 
         mSwipeState = SwipeState.ANIMATING;
-        ObjectAnimator animator = ObjectAnimator.ofFloat(this, "SwipeTranslationX", mSwipeTranslationX, x);
-        animator.setDuration(250);
-        animator.setInterpolator(new DecelerateInterpolator());
-        for (Animator.AnimatorListener listener : listeners) {
-            if (listener != null) {
-                animator.addListener(listener);
-            }
+        if (mSwipeAnimator == null) {
+            mSwipeAnimator = ValueAnimator.ofFloat(0, 1);
+            mSwipeAnimator.setDuration(SWIPE_ANIMATION_DURATION);
+            mSwipeAnimator.setInterpolator(SWIPE_ANIMATION_INTERPOLATOR);
+            mSwipeAnimator.addUpdateListener(mSwipeUpdateListener);
+            mSwipeAnimator.addListener(mSwipeAnimatorListener);
         }
-        animator.start();
+        mAnimateFromX = mSwipeTranslationX;
+        mAnimateToX = x;
+        mFirstAnimationListener = firstListener;
+        mSecondAnimationListener = secondListener;
+        mSwipeAnimator.start();
     }
 
     void resetSwipe(boolean animate) {
@@ -213,13 +269,7 @@ public class ListSwipeItem extends RelativeLayout {
 
         if (mSwipeTranslationX != 0) {
             if (animate) {
-                animateToSwipeTranslationX(0, new AnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        mSwipeState = SwipeState.IDLE;
-                        mSwipeListener = null;
-                    }
-                });
+                animateToSwipeTranslationX(0, mResetListener, null);
             } else {
                 setSwipeTranslationX(0);
                 mSwipeState = SwipeState.IDLE;
@@ -244,26 +294,13 @@ public class ListSwipeItem extends RelativeLayout {
             return;
         }
 
-        AnimatorListenerAdapter idleListener = new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mSwipeState = SwipeState.IDLE;
-                if (mSwipeTranslationX == 0) {
-                    resetSwipe(false);
-                }
-                if (mViewHolder != null) {
-                    mViewHolder.setIsRecyclable(true);
-                }
-            }
-        };
-
         if (mFlingSpeed == 0 && Math.abs(mStartSwipeTranslationX - mSwipeTranslationX) < getMeasuredWidth() / 3) {
             // Bounce back
-            animateToSwipeTranslationX(mStartSwipeTranslationX, idleListener, listener);
+            animateToSwipeTranslationX(mStartSwipeTranslationX, mIdleListener, listener);
         } else {
             // Animate to end
             float newX = getTranslateToXPosition(mStartSwipeTranslationX, mSwipeTranslationX, mFlingSpeed);
-            animateToSwipeTranslationX(newX, idleListener, listener);
+            animateToSwipeTranslationX(newX, mIdleListener, listener);
         }
         mStartSwipeTranslationX = 0;
         mFlingSpeed = 0;
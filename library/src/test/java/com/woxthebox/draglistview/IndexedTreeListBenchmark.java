@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures random positional moves, a remove followed by an add like {@link DragItemAdapter#changeItemPosition}, on an
+ * {@link ArrayList} and an {@link IndexedTreeList}. Not a unit test, run the main method on a desktop JVM.
+ */
+public class IndexedTreeListBenchmark {
+    private static final int[] SIZES = {1000, 100000, 1000000};
+    private static final int WARMUP_MOVES = 20000;
+    private static final int MOVES = 20000;
+
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            List<Integer> arrayList = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                arrayList.add(i);
+            }
+            List<Integer> treeList = new IndexedTreeList<>(arrayList);
+
+            double arrayListTime = measure(arrayList);
+            double treeListTime = measure(treeList);
+            System.out.println(String.format("%7d items: ArrayList %8.0f ns/move, IndexedTreeList %8.0f ns/move", size,
+                    arrayListTime, treeListTime));
+        }
+    }
+
+    private static double measure(List<Integer> list) {
+        Random random = new Random(42);
+        move(list, random, WARMUP_MOVES);
+        long start = System.nanoTime();
+        long checksum = move(list, random, MOVES);
+        long time = System.nanoTime() - start;
+        if (checksum == Long.MIN_VALUE) {
+            // Keeps the moves from being optimized away
+            System.out.println(checksum);
+        }
+        return (double) time / MOVES;
+    }
+
+    private static long move(List<Integer> list, Random random, int moves) {
+        long checksum = 0;
+        int size = list.size();
+        for (int i = 0; i < moves; i++) {
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            Integer item = list.remove(from);
+            list.add(to, item);
+            checksum += item;
+        }
+        return checksum;
+    }
+}
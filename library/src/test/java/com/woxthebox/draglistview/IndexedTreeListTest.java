@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class IndexedTreeListTest {
+
+    @Test
+    public void randomOperationsMatchArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        IndexedTreeList<Integer> list = new IndexedTreeList<>();
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                list.add(index, i);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -i), list.set(index, -i));
+            } else {
+                // A drag and drop move
+                int from = random.nextInt(expected.size());
+                int to = random.nextInt(expected.size());
+                expected.add(to, expected.remove(from));
+                list.add(to, list.remove(from));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void copyConstructorKeepsOrder() {
+        List<String> items = Arrays.asList("a", "b", "c", "d");
+        assertEquals(items, new IndexedTreeList<>(items));
+    }
+
+    @Test
+    public void clearEmptiesList() {
+        IndexedTreeList<String> list = new IndexedTreeList<>(Arrays.asList("a", "b"));
+        list.clear();
+        assertEquals(0, list.size());
+        list.add("c");
+        assertEquals(Arrays.asList("c"), list);
+    }
+
+    @Test
+    public void outOfBoundsIndexThrows() {
+        IndexedTreeList<String> list = new IndexedTreeList<>(Arrays.asList("a"));
+        try {
+            list.get(1);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        try {
+            list.add(2, "b");
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+        try {
+            list.remove(-1);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongIntMapTest {
+
+    @Test
+    public void randomOperationsMatchHashMap() {
+        Random random = new Random(42);
+        Map<Long, Integer> expected = new HashMap<>();
+        LongIntMap map = new LongIntMap();
+        for (int i = 0; i < 50000; i++) {
+            // A small key range so keys collide, are overwritten and are removed often
+            long key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map.remove(key);
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -1000; key < 1000; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value != null ? value : -1, map.get(key, -1));
+        }
+    }
+
+    @Test
+    public void extremeKeys() {
+        LongIntMap map = new LongIntMap();
+        map.put(Long.MIN_VALUE, 1);
+        map.put(Long.MAX_VALUE, 2);
+        map.put(0, 3);
+        assertEquals(1, map.get(Long.MIN_VALUE, -1));
+        assertEquals(2, map.get(Long.MAX_VALUE, -1));
+        assertEquals(3, map.get(0, -1));
+        map.remove(Long.MIN_VALUE);
+        assertEquals(-1, map.get(Long.MIN_VALUE, -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void clearRemovesAllKeys() {
+        LongIntMap map = new LongIntMap(100);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(50, -1));
+        map.put(50, 5);
+        assertEquals(5, map.get(50, -1));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Magnus Woxblom
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.woxthebox.draglistview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OrderKeysTest {
+
+    @Test
+    public void betweenSortsBetweenKeys() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>();
+        keys.add(OrderKeys.between(null, null));
+        for (int i = 0; i < 5000; i++) {
+            int index = random.nextInt(keys.size() + 1);
+            String before = index > 0 ? keys.get(index - 1) : null;
+            String after = index < keys.size() ? keys.get(index) : null;
+            String key = OrderKeys.between(before, after);
+            assertTrue(before == null || before.compareTo(key) < 0);
+            assertTrue(after == null || key.compareTo(after) < 0);
+            keys.add(index, key);
+        }
+    }
+
+    @Test
+    public void repeatedInsertsAtTheSameEdgeStaySorted() {
+        String first = OrderKeys.between(null, null);
+        String last = first;
+        for (int i = 0; i < 500; i++) {
+            String before = OrderKeys.between(null, first);
+            assertTrue(before.compareTo(first) < 0);
+            first = before;
+
+            String after = OrderKeys.between(last, null);
+            assertTrue(last.compareTo(after) < 0);
+            last = after;
+        }
+    }
+
+    @Test
+    public void evenlySpacedKeysAreAscendingAndValid() {
+        int[] counts = {0, 1, 2, 61, 62, 1000, 100000};
+        for (int count : counts) {
+            String[] keys = OrderKeys.evenlySpaced(count);
+            assertEquals(count, keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0) {
+                    assertTrue(keys[i - 1].compareTo(keys[i]) < 0);
+                }
+                // Throws if the key is not a valid key
+                OrderKeys.between(keys[i], null);
+            }
+        }
+    }
+
+    @Test
+    public void evenlySpacedKeysLeaveRoomBetween() {
+        String[] keys = OrderKeys.evenlySpaced(1000);
+        for (int i = 1; i < keys.length; i++) {
+            String key = OrderKeys.between(keys[i - 1], keys[i]);
+            assertNotEquals(keys[i - 1], key);
+            assertNotEquals(keys[i], key);
+        }
+    }
+
+    @Test
+    public void invalidKeysThrow() {
+        String[][] invalid = {{"", null}, {"a0", null}, {"a-", null}, {"b", "a"}, {"a", "a"}};
+        for (String[] keys : invalid) {
+            try {
+                OrderKeys.between(keys[0], keys[1]);
+                fail("Expected " + keys[0] + ", " + keys[1] + " to throw");
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+}
@@ -60,6 +60,11 @@ class ItemAdapter extends DragItemAdapter<Pair<Long, String>, ItemAdapter.ViewHo
         return mItemList.get(position).first;
     }
 
+    @Override
+    protected long getUniqueItemId(Pair<Long, String> item) {
+        return item.first;
+    }
+
     class ViewHolder extends DragItemAdapter.ViewHolder {
         TextView mText;
 